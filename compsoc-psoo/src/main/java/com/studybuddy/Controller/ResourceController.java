@@ -1,31 +1,72 @@
 package com.studybuddy.Controller;
 
 import com.studybuddy.Dto.Studyflow.ResourceDto;
+import com.studybuddy.Exception.EntityNotFoundException;
+import com.studybuddy.Service.Studyflow.Resource.GetResourceService;
 import com.studybuddy.Service.Studyflow.Resource.PostResourceService;
+import com.studybuddy.Service.Studyflow.Resource.ResourceDownloadWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("api/studyflow/resources")
 @CrossOrigin(origins = "http://localhost:4200")
 public class ResourceController {
     private final PostResourceService postResourceService;
+    private final GetResourceService getResourceService;
+    private final ResourceDownloadWriter resourceDownloadWriter;
 
-    public ResourceController(PostResourceService postResourceService) {
+    public ResourceController(PostResourceService postResourceService, GetResourceService getResourceService,
+                              ResourceDownloadWriter resourceDownloadWriter) {
         this.postResourceService = postResourceService;
+        this.getResourceService = getResourceService;
+        this.resourceDownloadWriter = resourceDownloadWriter;
     }
 
-    @PostMapping
-    public ResponseEntity<String> post(@RequestBody List<ResourceDto> resourceDtoList) {
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UUID> post(@RequestBody List<ResourceDto> resourceDtoList) {
         try {
-            postResourceService.createBatch(resourceDtoList);
-            return ResponseEntity.status(HttpStatus.CREATED).body("");
+            UUID jobId = postResourceService.createBatch(resourceDtoList);
+            return ResponseEntity.status(HttpStatus.CREATED).body(jobId);
         } catch (Exception e) {
             e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UUID> upload(@RequestParam UUID studyflowId,
+                                       @RequestParam("files") List<MultipartFile> files,
+                                       @RequestParam(required = false) String indicatorFilename) {
+        try {
+            UUID jobId = postResourceService.createBatch(studyflowId, files, indicatorFilename);
+            return ResponseEntity.status(HttpStatus.CREATED).body(jobId);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public void download(@PathVariable UUID id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            resourceDownloadWriter.write(getResourceService.getDownload(id), request, response);
+        } catch (EntityNotFoundException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        } catch (Exception e) {
+            e.printStackTrace();
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
         }
     }
 }
@@ -2,21 +2,37 @@ package com.studybuddy.Controller;
 
 
 import com.studybuddy.Dto.Studyflow.*;
+import com.studybuddy.Dto.Studyflow.Job.GenerationJobDto;
 import com.studybuddy.Dto.Studyflow.Question.QuestionGetDto;
+import com.studybuddy.Dto.Studyflow.Question.QuestionPageDto;
 import com.studybuddy.Dto.Studyflow.Question.QuestionPostDto;
+import com.studybuddy.Entity.QuestionType;
+import com.studybuddy.Exception.EntityNotFoundException;
+import com.studybuddy.Exception.GenericException;
 import com.studybuddy.Service.Studyflow.*;
 import com.studybuddy.Service.Studyflow.Indicator.GenerateIndicatorService;
+import com.studybuddy.Service.Studyflow.Job.GenerationPipelineService;
 import com.studybuddy.Service.Studyflow.Overview.GenerateOverviewService;
 import com.studybuddy.Service.Studyflow.Question.GenerateQuestionsService;
+import com.studybuddy.Service.Studyflow.Question.GetNextReviewService;
 import com.studybuddy.Service.Studyflow.Question.GetQuestionsByStudyflowId;
 import com.studybuddy.Service.Studyflow.Question.PostAnswerService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RestController
 @RequestMapping("api/studyflow")
@@ -33,13 +49,18 @@ public class StudyflowController {
     private final GetStudyflowStatus getStudyflowStatus;
     private final GetStudyflowService getStudyflowService;
     private final GenerateOverviewService generateOverviewService;
+    private final GenerationPipelineService generationPipelineService;
+    private final GetNextReviewService getNextReviewService;
+    private final long overviewStreamTimeoutMs;
 
     private static final String ERROR_PREFIX = "erro: ";
 
     public record ApiResponse<T>(String message, T data) {}
 
 
-    public StudyflowController(StudyflowCreatorService studyflowCreatorService, GetQuestionsByStudyflowId getQuestionsByStudyflowId, PostAnswerService postAnswerService, GenerateIndicatorService generateIndicatorService, GetAllStudyflows getAllStudyflows, GenerateQuestionsService generateQuestionsService, StudyflowPatchService studyflowPatchService, AccumulateTimeService accumulateTimeService, GetStudyflowStatus getStudyflowStatus, GetStudyflowService getStudyflowService, GenerateOverviewService generateOverviewService) {
+    public StudyflowController(StudyflowCreatorService studyflowCreatorService, GetQuestionsByStudyflowId getQuestionsByStudyflowId, PostAnswerService postAnswerService, GenerateIndicatorService generateIndicatorService, GetAllStudyflows getAllStudyflows, GenerateQuestionsService generateQuestionsService, StudyflowPatchService studyflowPatchService, AccumulateTimeService accumulateTimeService, GetStudyflowStatus getStudyflowStatus, GetStudyflowService getStudyflowService, GenerateOverviewService generateOverviewService, GenerationPipelineService generationPipelineService, GetNextReviewService getNextReviewService,
+                               // o stream usa o mesmo prazo das outras respostas assíncronas da geração
+                               @Value("${spring.mvc.async.request-timeout:600s}") Duration overviewStreamTimeout) {
         this.studyflowCreatorService = studyflowCreatorService;
         this.getQuestionsByStudyflowId = getQuestionsByStudyflowId;
         this.postAnswerService = postAnswerService;
@@ -51,6 +72,9 @@ public class StudyflowController {
         this.getStudyflowStatus = getStudyflowStatus;
         this.getStudyflowService = getStudyflowService;
         this.generateOverviewService = generateOverviewService;
+        this.generationPipelineService = generationPipelineService;
+        this.getNextReviewService = getNextReviewService;
+        this.overviewStreamTimeoutMs = overviewStreamTimeout.toMillis();
     }
 
     @GetMapping
@@ -63,18 +87,75 @@ public class StudyflowController {
         }
     }
 
-    @GetMapping("/overview")
-    @CrossOrigin(origins = "http://localhost:4200")
-    public ResponseEntity<ApiResponse<byte[]>> getOverview(@RequestParam UUID id) {
+    @GetMapping("/page")
+    public ResponseEntity<StudyflowPageDto> getStudyflowPage(@RequestParam UUID studentId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) String title,
+                                                             @RequestParam(required = false) String tag) {
         try {
-            return ResponseEntity.status(HttpStatus.OK).body(new ApiResponse<>("Overview", generateOverviewService.returnPdf(id)));
-        }
-        catch (Exception e){
+            return ResponseEntity.ok(getAllStudyflows.getPage(studentId, cursor, limit, title, tag));
+        } catch (GenericException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e){
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
+    @GetMapping("/overview")
+    @CrossOrigin(origins = "http://localhost:4200")
+    public CompletableFuture<ResponseEntity<ApiResponse<byte[]>>> getOverview(@RequestParam UUID id) {
+        return generateOverviewService.returnPdfAsync(id)
+                .thenApply(pdf -> ResponseEntity.status(HttpStatus.OK).body(new ApiResponse<>("Overview", pdf)))
+                .exceptionally(e -> {
+                    e.printStackTrace();
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+                });
+    }
+
+    @GetMapping(value = "/overview/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOverview(@RequestParam UUID id) {
+        SseEmitter emitter = new SseEmitter(overviewStreamTimeoutMs);
+        AtomicBoolean clientGone = new AtomicBoolean(false);
+        // depois de timeout, desconexão ou complete o emitter recusa envios
+        emitter.onTimeout(() -> clientGone.set(true));
+        emitter.onError(e -> clientGone.set(true));
+        emitter.onCompletion(() -> clientGone.set(true));
+
+        // se o cliente desconectar, a geração continua e o overview fica salvo para depois
+        generateOverviewService.streamMarkdown(id, delta -> {
+                    if (clientGone.get()) {
+                        return;
+                    }
+                    try {
+                        emitter.send(SseEmitter.event().name("delta").data(Map.of("text", delta), MediaType.APPLICATION_JSON));
+                    } catch (IOException | IllegalStateException e) {
+                        clientGone.set(true);
+                    }
+                })
+                .whenComplete((ignored, e) -> {
+                    if (clientGone.get()) {
+                        return;
+                    }
+                    try {
+                        if (e == null) {
+                            emitter.send(SseEmitter.event().name("done").data(id.toString()));
+                        } else {
+                            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                            emitter.send(SseEmitter.event().name("error").data(ERROR_PREFIX + cause.getMessage()));
+                        }
+                        emitter.complete();
+                    } catch (IOException sendFailure) {
+                        emitter.completeWithError(sendFailure);
+                    } catch (IllegalStateException alreadyClosed) {
+                        // o emitter fechou entre a checagem e o envio
+                    }
+                });
+
+        return emitter;
+    }
+
     @PatchMapping("/questions")
     public ResponseEntity<ApiResponse<String>> answerQuestion(@RequestBody QuestionPostDto questionPostDto) {
         try{
@@ -139,18 +220,45 @@ public class StudyflowController {
         }
     }
 
-    @PostMapping("/generate")
-    public ResponseEntity<Object> generateQuestionsTrigger(@RequestBody UUID studyflowId) {
+    @GetMapping("/questions/page")
+    public ResponseEntity<QuestionPageDto> getQuestionPage(@RequestParam UUID studyflowId,
+                                                           @RequestParam(required = false) Boolean answered,
+                                                           @RequestParam(required = false) QuestionType type,
+                                                           @RequestParam(required = false) String tag,
+                                                           @RequestParam(required = false) Integer page,
+                                                           @RequestParam(required = false) Integer size) {
         try {
-            generateQuestionsService.generate(studyflowId);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(new ApiResponse<>("Questoes geradas", studyflowId));
+            return ResponseEntity.ok(getQuestionsByStudyflowId.getPage(studyflowId, answered, type, tag, page, size));
         } catch (Exception e) {
             e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ERROR_PREFIX + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/review/next")
+    public ResponseEntity<List<QuestionGetDto>> getNextReview(@RequestParam UUID studentId,
+                                                              @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(getNextReviewService.next(studentId, limit));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
         }
     }
 
+    @PostMapping("/generate")
+    public CompletableFuture<ResponseEntity<Object>> generateQuestionsTrigger(@RequestBody UUID studyflowId) {
+        // a thread do Tomcat é liberada enquanto a AI responde
+        return generateQuestionsService.generateAsync(studyflowId)
+                .<ResponseEntity<Object>>thenApply(ignored -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(new ApiResponse<>("Questoes geradas", studyflowId)))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    cause.printStackTrace();
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ERROR_PREFIX + cause.getMessage());
+                });
+    }
+
     @GetMapping("/status")
     public ResponseEntity<StudyflowStatusDto> getStudyflowStatus(@RequestParam UUID studyflowId){
         try {
@@ -161,4 +269,28 @@ public class StudyflowController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
         }
     }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<GenerationJobDto> getJob(@RequestParam UUID jobId) {
+        try {
+            return ResponseEntity.ok(generationPipelineService.getJob(jobId));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/jobs/latest")
+    public ResponseEntity<GenerationJobDto> getLatestJob(@RequestParam UUID studyflowId) {
+        try {
+            return ResponseEntity.ok(generationPipelineService.getLatestJob(studyflowId));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
 }
@@ -4,6 +4,7 @@ public class IndicatorDto {
     private String indicatorTag;
     private Integer correctCount;
     private Integer answeredCount;
+    private Integer reviewCount;
 
     public String getIndicatorTag() {
         return indicatorTag;
@@ -28,4 +29,12 @@ public class IndicatorDto {
     public void setAnsweredCount(Integer answeredCount) {
         this.answeredCount = answeredCount;
     }
+
+    public Integer getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(Integer reviewCount) {
+        this.reviewCount = reviewCount;
+    }
 }
@@ -0,0 +1,82 @@
+package com.studybuddy.Dto.Studyflow.Job;
+
+import com.studybuddy.Entity.GenerationJobStatus;
+import com.studybuddy.Entity.GenerationStage;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class GenerationJobDto {
+    private UUID id;
+    private UUID studyflowId;
+    private GenerationStage stage;
+    private GenerationJobStatus status;
+    private String errorMessage;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private GenerationProgressDto progress;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getStudyflowId() {
+        return studyflowId;
+    }
+
+    public void setStudyflowId(UUID studyflowId) {
+        this.studyflowId = studyflowId;
+    }
+
+    public GenerationStage getStage() {
+        return stage;
+    }
+
+    public void setStage(GenerationStage stage) {
+        this.stage = stage;
+    }
+
+    public GenerationJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GenerationJobStatus status) {
+        this.status = status;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public GenerationProgressDto getProgress() {
+        return progress;
+    }
+
+    public void setProgress(GenerationProgressDto progress) {
+        this.progress = progress;
+    }
+}
@@ -3,6 +3,7 @@ package com.studybuddy.Dto.Studyflow.Question;
 import com.studybuddy.Entity.QuestionType;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 public class QuestionGetDto {
@@ -12,10 +13,12 @@ public class QuestionGetDto {
     private String expectedAnswer;
     private Boolean correct;
     private String answers;
+    private List<String> answerList;
     private String question;
     private boolean answered;
     private String tags;
     private Instant lastReviewedAt;
+    private Instant dueAt;
 
     public Boolean isCorrect() {
         return correct;
@@ -73,6 +76,14 @@ public class QuestionGetDto {
         this.answers = answers;
     }
 
+    public List<String> getAnswerList() {
+        return answerList;
+    }
+
+    public void setAnswerList(List<String> answerList) {
+        this.answerList = answerList;
+    }
+
     public boolean isAnswered() {
         return answered;
     }
@@ -96,4 +107,12 @@ public class QuestionGetDto {
     public void setLastReviewedAt(Instant lastReviewedAt) {
         this.lastReviewedAt = lastReviewedAt;
     }
+
+    public Instant getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(Instant dueAt) {
+        this.dueAt = dueAt;
+    }
 }
@@ -0,0 +1,42 @@
+package com.studybuddy.Dto.Studyflow.Question;
+
+import java.util.List;
+
+public class QuestionPageDto {
+    private List<QuestionGetDto> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    public List<QuestionGetDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<QuestionGetDto> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
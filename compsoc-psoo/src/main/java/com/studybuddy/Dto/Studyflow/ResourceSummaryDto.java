@@ -0,0 +1,35 @@
+package com.studybuddy.Dto.Studyflow;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class ResourceSummaryDto {
+    private UUID id;
+    private String filename;
+    private String mime;
+    private long sizeBytes;
+    private String contentHash;
+    private Instant createdAt;
+    private boolean indicator;
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public String getFilename() { return filename; }
+    public void setFilename(String filename) { this.filename = filename; }
+
+    public String getMime() { return mime; }
+    public void setMime(String mime) { this.mime = mime; }
+
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public boolean isIndicator() { return indicator; }
+    public void setIndicator(boolean indicator) { this.indicator = indicator; }
+}
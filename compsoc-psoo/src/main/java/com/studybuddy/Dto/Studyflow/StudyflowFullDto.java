@@ -9,7 +9,7 @@ public class StudyflowFullDto {
     private String description;
     private List<String> mainTags;
     private String creationDate;
-    private List<ResourceDto> resources;
+    private List<ResourceSummaryDto> resources;
     private String status;
 
     public UUID getId() {
@@ -52,11 +52,11 @@ public class StudyflowFullDto {
         this.creationDate = creationDate;
     }
 
-    public List<ResourceDto> getResources() {
+    public List<ResourceSummaryDto> getResources() {
         return resources;
     }
 
-    public void setResources(List<ResourceDto> resources) {
+    public void setResources(List<ResourceSummaryDto> resources) {
         this.resources = resources;
     }
 
@@ -0,0 +1,24 @@
+package com.studybuddy.Dto.Studyflow;
+
+import java.util.List;
+
+public class StudyflowPageDto {
+    private List<StudyflowGetDto> items;
+    private String nextCursor;
+
+    public List<StudyflowGetDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StudyflowGetDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,75 @@
+package com.studybuddy.Entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "ai_response_cache", indexes = {
+        @Index(name = "idx_ai_response_cache_expires_at", columnList = "expiresAt")
+})
+public class AiResponseCacheEntity {
+
+    @Id
+    @Column(length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private String model;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String content;
+
+    @Column(nullable = false)
+    private int charCount;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public int getCharCount() {
+        return charCount;
+    }
+
+    public void setCharCount(int charCount) {
+        this.charCount = charCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,91 @@
+package com.studybuddy.Entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "generation_jobs")
+public class GenerationJobEntity {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID studyflowId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GenerationStage stage = GenerationStage.EXTRACT;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GenerationJobStatus status = GenerationJobStatus.PENDING;
+
+    @Column(columnDefinition = "text")
+    private String errorMessage;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt = Instant.now();
+
+    @Column(nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getStudyflowId() {
+        return studyflowId;
+    }
+
+    public void setStudyflowId(UUID studyflowId) {
+        this.studyflowId = studyflowId;
+    }
+
+    public GenerationStage getStage() {
+        return stage;
+    }
+
+    public void setStage(GenerationStage stage) {
+        this.stage = stage;
+    }
+
+    public GenerationJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GenerationJobStatus status) {
+        this.status = status;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
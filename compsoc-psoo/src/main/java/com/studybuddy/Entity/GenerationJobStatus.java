@@ -0,0 +1,8 @@
+package com.studybuddy.Entity;
+
+public enum GenerationJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.studybuddy.Entity;
+
+public enum GenerationStage {
+    EXTRACT,
+    INDICATORS,
+    QUESTIONS,
+    DONE
+}
@@ -2,10 +2,15 @@ package com.studybuddy.Entity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_indicator_studyflow_tag", columnList = "studyflowId, indicatorTag")
+})
 public class IndicatorEntity {
     @Id
     private UUID id;
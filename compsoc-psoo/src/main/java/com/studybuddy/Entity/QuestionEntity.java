@@ -1,12 +1,18 @@
 package com.studybuddy.Entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "study_flows_questions")
+@Table(name = "study_flows_questions", indexes = {
+        @Index(name = "idx_questions_study_flow_created", columnList = "study_flow_id, createdAt, id")
+})
 public class QuestionEntity {
 
     @Id
@@ -27,16 +33,18 @@ public class QuestionEntity {
     @Column(columnDefinition = "text")
     private String expectedAnswer;
 
-    @Column(columnDefinition = "text")
-    private String answers;
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<String> answers = new ArrayList<>();
 
     private boolean isAnswered;
 
     @Column(columnDefinition = "text")
     private String userAnswer;
 
-    @Column(columnDefinition = "text")
-    private String tags; //baseado no indicator
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(columnDefinition = "text[]")
+    private List<String> tags = new ArrayList<>(); //baseado no indicator
 
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
@@ -48,6 +56,15 @@ public class QuestionEntity {
 
     private int reviewCount = 0;
 
+    // agenda de revisão (SM-2); questão nova já nasce devida
+    private Instant dueAt = Instant.now();
+
+    private Double easeFactor = 2.5;
+
+    private Integer repetitions = 0;
+
+    private Integer intervalDays = 0;
+
     public Boolean getCorrect() {
         return correct;
     }
@@ -96,11 +113,11 @@ public class QuestionEntity {
         this.expectedAnswer = expectedAnswer;
     }
 
-    public String getAnswers() {
+    public List<String> getAnswers() {
         return answers;
     }
 
-    public void setAnswers(String answers) {
+    public void setAnswers(List<String> answers) {
         this.answers = answers;
     }
 
@@ -120,11 +137,11 @@ public class QuestionEntity {
         this.userAnswer = userAnswer;
     }
 
-    public String getTags() {
+    public List<String> getTags() {
         return tags;
     }
 
-    public void setTags(String tags) {
+    public void setTags(List<String> tags) {
         this.tags = tags;
     }
 
@@ -151,4 +168,36 @@ public class QuestionEntity {
     public void setReviewCount(int reviewCount) {
         this.reviewCount = reviewCount;
     }
+
+    public Instant getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(Instant dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    public Double getEaseFactor() {
+        return easeFactor;
+    }
+
+    public void setEaseFactor(Double easeFactor) {
+        this.easeFactor = easeFactor;
+    }
+
+    public Integer getRepetitions() {
+        return repetitions;
+    }
+
+    public void setRepetitions(Integer repetitions) {
+        this.repetitions = repetitions;
+    }
+
+    public Integer getIntervalDays() {
+        return intervalDays;
+    }
+
+    public void setIntervalDays(Integer intervalDays) {
+        this.intervalDays = intervalDays;
+    }
 }
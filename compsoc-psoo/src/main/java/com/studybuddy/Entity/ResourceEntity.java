@@ -21,13 +21,16 @@ public class ResourceEntity {
     @Column(nullable = false)
     private String mimeType;
 
-    @Lob
-    @Column(nullable = false)
-    private byte[] fileData;
+    // chave no BlobStore; o conteúdo não fica mais na tabela
+    @Column(length = 128)
+    private String storageKey;
 
     @Column(nullable = false)
     private long sizeBytes;
 
+    @Column(length = 64)
+    private String contentHash;
+
     @Column(nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
@@ -43,12 +46,20 @@ public class ResourceEntity {
         this.sizeBytes = sizeBytes;
     }
 
-    public byte[] getFileData() {
-        return fileData;
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
     }
 
-    public void setFileData(byte[] fileData) {
-        this.fileData = fileData;
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
     }
 
     public String getMimeType() {
@@ -8,7 +8,9 @@ import java.util.*;
 import com.studybuddy.entity.ResourceEntity;
 
 @Entity
-@Table(name = "study_flows")
+@Table(name = "study_flows", indexes = {
+        @Index(name = "idx_study_flows_student_created", columnList = "student_entity_id, createdAt, id")
+})
 public class StudyflowEntity {
 
     @Id
@@ -16,7 +18,7 @@ public class StudyflowEntity {
     private UUID id;
 
     @ManyToOne
-    @JoinColumn(nullable = false)
+    @JoinColumn(name = "student_entity_id", nullable = false)
     private StudentEntity studentEntity;
 
     @Column(nullable = false)
@@ -1,11 +1,39 @@
 package com.studybuddy.Exception;
 
+import java.time.Duration;
+import java.util.Optional;
+
 public class AiProviderException extends StudyBuddyException {
+    private final int statusCode;
+    private final Duration retryAfter;
+
     public AiProviderException(String message) {
-        super(message, "AI_PROVIDER_ERROR");
+        this(message, 0, null);
     }
 
     public AiProviderException(String message, Throwable cause) {
         super(message, "AI_PROVIDER_ERROR", cause);
+        this.statusCode = 0;
+        this.retryAfter = null;
+    }
+
+    /**
+     * Erro HTTP do provedor; {@code retryAfter} vem do header Retry-After, quando houver.
+     */
+    public AiProviderException(String message, int statusCode, Duration retryAfter) {
+        super(message, "AI_PROVIDER_ERROR");
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Status HTTP da resposta do provedor, ou 0 quando a falha não veio de uma resposta.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
     }
 }
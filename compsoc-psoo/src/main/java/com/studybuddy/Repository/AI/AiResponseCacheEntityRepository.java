@@ -0,0 +1,20 @@
+package com.studybuddy.Repository.AI;
+
+import com.studybuddy.Entity.AiResponseCacheEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface AiResponseCacheEntityRepository extends JpaRepository<AiResponseCacheEntity, String> {
+    @Modifying
+    @Transactional
+    long deleteByExpiresAtBefore(Instant now);
+
+    List<AiResponseCacheFingerprint> findAllByOrderByCreatedAtAsc(Pageable pageable);
+}
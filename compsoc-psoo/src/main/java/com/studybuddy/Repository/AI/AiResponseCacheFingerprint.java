@@ -0,0 +1,8 @@
+package com.studybuddy.Repository.AI;
+
+/**
+ * Projeção só com a chave, para descartar as entradas mais antigas sem carregar o conteúdo.
+ */
+public interface AiResponseCacheFingerprint {
+    String getFingerprint();
+}
@@ -0,0 +1,11 @@
+package com.studybuddy.Repository.Studyflow.Indicator;
+
+import com.studybuddy.Entity.AnswerEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface AnswerEventEntityRepository extends JpaRepository<AnswerEventEntity, Long> {
+    List<AnswerEventEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -2,10 +2,51 @@ package com.studybuddy.Repository.Studyflow.Indicator;
 
 import com.studybuddy.Entity.IndicatorEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface IndicatorEntityRepository extends JpaRepository<IndicatorEntity, UUID> {
     List<IndicatorEntity> findAllByStudyflowId(UUID studyflowId);
+
+    boolean existsByStudyflowId(UUID studyflowId);
+
+    /**
+     * As {@code limit} tags mais respondidas de cada studyflow, todas numa consulta.
+     */
+    @Query(value = """
+            SELECT ranked.studyflow_id AS "studyflowId", ranked.indicator_tag AS "indicatorTag"
+              FROM (SELECT i.studyflow_id, i.indicator_tag,
+                           ROW_NUMBER() OVER (PARTITION BY i.studyflow_id
+                                              ORDER BY i.answered_count DESC, i.indicator_tag) AS position
+                      FROM indicator_entity i
+                     WHERE i.studyflow_id IN (:studyflowIds)) ranked
+             WHERE ranked.position <= :limit
+             ORDER BY ranked.studyflow_id, ranked.position
+            """, nativeQuery = true)
+    List<StudyflowTag> findTopTagsByStudyflowIds(@Param("studyflowIds") Collection<UUID> studyflowIds,
+                                                 @Param("limit") int limit);
+
+    /**
+     * Soma os incrementos aos contadores de todos os indicadores das tags em um único UPDATE;
+     * a soma acontece no banco, então escritas concorrentes não se perdem.
+     */
+    @Modifying
+    @Query("""
+            UPDATE IndicatorEntity i
+               SET i.answeredCount = i.answeredCount + :answeredIncrement,
+                   i.correctCount = i.correctCount + :correctIncrement,
+                   i.reviewCount = COALESCE(i.reviewCount, 0) + :reviewIncrement
+             WHERE i.studyflowId = :studyflowId
+               AND i.indicatorTag IN :tags
+            """)
+    int incrementCounters(@Param("studyflowId") UUID studyflowId,
+                          @Param("tags") Collection<String> tags,
+                          @Param("answeredIncrement") int answeredIncrement,
+                          @Param("correctIncrement") int correctIncrement,
+                          @Param("reviewIncrement") int reviewIncrement);
 }
@@ -0,0 +1,12 @@
+package com.studybuddy.Repository.Studyflow.Indicator;
+
+import java.util.UUID;
+
+/**
+ * Uma tag principal de um studyflow, vinda da consulta em lote das tags.
+ */
+public interface StudyflowTag {
+    UUID getStudyflowId();
+
+    String getIndicatorTag();
+}
@@ -0,0 +1,18 @@
+package com.studybuddy.Repository.Studyflow.Job;
+
+import com.studybuddy.Entity.GenerationJobEntity;
+import com.studybuddy.Entity.GenerationJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface GenerationJobEntityRepository extends JpaRepository<GenerationJobEntity, UUID> {
+    Optional<GenerationJobEntity> findFirstByStudyflowIdOrderByCreatedAtDesc(UUID studyflowId);
+
+    List<GenerationJobEntity> findAllByStatusInOrderByCreatedAtAsc(Collection<GenerationJobStatus> statuses);
+}
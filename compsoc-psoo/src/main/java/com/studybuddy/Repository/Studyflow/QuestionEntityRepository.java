@@ -1,13 +1,79 @@
 package com.studybuddy.Repository.Studyflow;
 
 import com.studybuddy.Entity.QuestionEntity;
+import com.studybuddy.Entity.QuestionType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface QuestionEntityRepository extends JpaRepository<QuestionEntity, UUID> {
     List<QuestionEntity> findAllByStudyFlowId(UUID studyFlowId);
+
+    boolean existsByStudyFlowId(UUID studyFlowId);
+
+    /**
+     * Questões do studyflow já no formato da tela, em ordem de criação. Os filtros chegam
+     * sempre preenchidos e são ligados pelas flags {@code any*}.
+     */
+    @Query("""
+            SELECT q.id AS id, q.studyFlow.id AS studyflowId, q.type AS type, q.question AS question,
+                   q.expectedAnswer AS expectedAnswer, q.answers AS answers, q.isAnswered AS answered,
+                   q.correct AS correct, q.tags AS tags, q.lastReviewedAt AS lastReviewedAt, q.dueAt AS dueAt
+              FROM QuestionEntity q
+             WHERE q.studyFlow.id = :studyflowId
+               AND (:anyAnswered = TRUE OR q.isAnswered = :answered)
+               AND (:anyType = TRUE OR q.type = :type)
+               AND (:anyTag = TRUE OR ARRAY_CONTAINS(q.tags, :tag))
+             ORDER BY q.createdAt, q.id
+            """)
+    Slice<QuestionView> findViews(@Param("studyflowId") UUID studyflowId,
+                                  @Param("anyAnswered") boolean anyAnswered,
+                                  @Param("answered") boolean answered,
+                                  @Param("anyType") boolean anyType,
+                                  @Param("type") QuestionType type,
+                                  @Param("anyTag") boolean anyTag,
+                                  @Param("tag") String tag,
+                                  Pageable pageable);
+
+    /**
+     * Ids das questões vencidas do estudante, das mais atrasadas para as menos. Cada
+     * studyflow é lido pelo índice parcial (study_flow_id, due_at) só até {@code limit}
+     * linhas, então o custo não cresce com o total de questões.
+     */
+    @Query(value = """
+            SELECT due.id
+              FROM study_flows s
+             CROSS JOIN LATERAL (
+                   SELECT q.id, q.due_at
+                     FROM study_flows_questions q
+                    WHERE q.study_flow_id = s.id
+                      AND q.due_at IS NOT NULL
+                      AND q.due_at <= :now
+                    ORDER BY q.due_at
+                    LIMIT :limit) due
+             WHERE s.student_entity_id = :studentId
+             ORDER BY due.due_at
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findDueQuestionIds(@Param("studentId") UUID studentId,
+                                  @Param("now") Instant now,
+                                  @Param("limit") int limit);
+
+    @Query("""
+            SELECT q.id AS id, q.studyFlow.id AS studyflowId, q.type AS type, q.question AS question,
+                   q.expectedAnswer AS expectedAnswer, q.answers AS answers, q.isAnswered AS answered,
+                   q.correct AS correct, q.tags AS tags, q.lastReviewedAt AS lastReviewedAt, q.dueAt AS dueAt
+              FROM QuestionEntity q
+             WHERE q.id IN :ids
+            """)
+    List<QuestionView> findViewsByIds(@Param("ids") Collection<UUID> ids);
 }
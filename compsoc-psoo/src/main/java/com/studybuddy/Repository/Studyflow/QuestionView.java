@@ -0,0 +1,34 @@
+package com.studybuddy.Repository.Studyflow;
+
+import com.studybuddy.Entity.QuestionType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Projeção da tela de questões; o id do studyflow vem direto da FK, sem tocar no proxy.
+ */
+public interface QuestionView {
+    UUID getId();
+
+    UUID getStudyflowId();
+
+    QuestionType getType();
+
+    String getQuestion();
+
+    String getExpectedAnswer();
+
+    List<String> getAnswers();
+
+    boolean isAnswered();
+
+    Boolean getCorrect();
+
+    List<String> getTags();
+
+    Instant getLastReviewedAt();
+
+    Instant getDueAt();
+}
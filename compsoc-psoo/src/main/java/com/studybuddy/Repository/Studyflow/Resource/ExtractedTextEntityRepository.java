@@ -0,0 +1,9 @@
+package com.studybuddy.Repository.Studyflow.Resource;
+
+import com.studybuddy.Entity.ExtractedTextEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExtractedTextEntityRepository extends JpaRepository<ExtractedTextEntity, String> {
+}
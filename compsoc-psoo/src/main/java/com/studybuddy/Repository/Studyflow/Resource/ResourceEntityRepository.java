@@ -14,4 +14,8 @@ public interface ResourceEntityRepository extends JpaRepository<ResourceEntity,
     List<com.studybuddy.entity.ResourceEntity> findAllByStudyFlowId(UUID studyFlowId);
 
     Optional<com.studybuddy.entity.ResourceEntity> findByStudyFlowIdAndFilename(UUID studyFlowId, String filename);
+
+    boolean existsByStudyFlowIdAndFilename(UUID studyFlowId, String filename);
+
+    List<ResourceSummary> findSummariesByStudyFlowIdOrderByCreatedAtAsc(UUID studyFlowId);
 }
@@ -0,0 +1,16 @@
+package com.studybuddy.Repository.Studyflow.Resource;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Projeção só com os metadados do recurso; o select não toca no conteúdo.
+ */
+public interface ResourceSummary {
+    UUID getId();
+    String getFilename();
+    String getMimeType();
+    long getSizeBytes();
+    String getContentHash();
+    Instant getCreatedAt();
+}
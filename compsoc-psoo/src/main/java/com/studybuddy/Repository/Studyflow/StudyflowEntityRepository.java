@@ -1,11 +1,54 @@
 package com.studybuddy.Repository.Studyflow;
 
 import com.studybuddy.Entity.StudyflowEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 public interface StudyflowEntityRepository extends JpaRepository<StudyflowEntity, UUID> {
     List<StudyflowEntity> findAllByStudentEntity_Id(UUID studentEntityId);
+
+    @Query("""
+            SELECT s.id AS id, s.title AS title, s.description AS description, s.createdAt AS createdAt
+              FROM StudyflowEntity s
+             WHERE s.studentEntity.id = :studentId
+            """)
+    List<StudyflowSummary> findSummariesByStudentId(@Param("studentId") UUID studentId);
+
+    /**
+     * Página por keyset em (createdAt, id) decrescente, a partir do último item da página
+     * anterior. Os filtros chegam sempre preenchidos ({@code %} e {@code anyTag}) para não
+     * depender de parâmetros nulos no Postgres.
+     */
+    @Query("""
+            SELECT s.id AS id, s.title AS title, s.description AS description, s.createdAt AS createdAt
+              FROM StudyflowEntity s
+             WHERE s.studentEntity.id = :studentId
+               AND (s.createdAt < :afterCreatedAt OR (s.createdAt = :afterCreatedAt AND s.id < :afterId))
+               AND LOWER(s.title) LIKE :titlePattern ESCAPE '!'
+               AND (:anyTag = TRUE OR EXISTS (
+                       SELECT 1 FROM IndicatorEntity i
+                        WHERE i.studyflowId = s.id AND LOWER(i.indicatorTag) = :tag))
+             ORDER BY s.createdAt DESC, s.id DESC
+            """)
+    List<StudyflowSummary> findSummaryPage(@Param("studentId") UUID studentId,
+                                           @Param("afterCreatedAt") Instant afterCreatedAt,
+                                           @Param("afterId") UUID afterId,
+                                           @Param("titlePattern") String titlePattern,
+                                           @Param("anyTag") boolean anyTag,
+                                           @Param("tag") String tag,
+                                           Limit limit);
+
+    /**
+     * Soma o tempo direto no banco, sem carregar a entidade e sem perder incrementos concorrentes.
+     */
+    @Modifying
+    @Query("UPDATE StudyflowEntity s SET s.timeSpent = COALESCE(s.timeSpent, 0) + :millis WHERE s.id = :id")
+    int addTimeSpent(@Param("id") UUID id, @Param("millis") long millis);
 }
@@ -0,0 +1,17 @@
+package com.studybuddy.Repository.Studyflow;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Projeção com as colunas do card do dashboard, sem carregar estudante, recursos ou questões.
+ */
+public interface StudyflowSummary {
+    UUID getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Instant getCreatedAt();
+}
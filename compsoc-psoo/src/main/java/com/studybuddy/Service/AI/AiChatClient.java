@@ -1,5 +1,45 @@
 package com.studybuddy.Service.AI;
 
+import com.studybuddy.Exception.AiProviderException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
 public interface AiChatClient {
-    AiResponse sendRequest(AiRequest request);
+    /**
+     * Envia a requisição sem bloquear a thread chamadora; o future completa
+     * quando o provedor responder.
+     */
+    CompletableFuture<AiResponse> sendRequestAsync(AiRequest request);
+
+    /**
+     * Entrega o texto em trechos para {@code onDelta} conforme o provedor gera;
+     * o future completa com a resposta inteira. Clientes sem streaming entregam
+     * tudo em um único trecho.
+     */
+    default CompletableFuture<AiResponse> streamRequest(AiRequest request, Consumer<String> onDelta) {
+        return sendRequestAsync(request).thenApply(response -> {
+            onDelta.accept(response.getContent());
+            return response;
+        });
+    }
+
+    /**
+     * Avisa que a resposta para {@code request} não pôde ser usada; clientes com cache
+     * descartam a entrada. Por padrão não faz nada.
+     */
+    default void evict(AiRequest request) {
+    }
+
+    default AiResponse sendRequest(AiRequest request) {
+        try {
+            return sendRequestAsync(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AiProviderException("AI request failed", e.getCause());
+        }
+    }
 }
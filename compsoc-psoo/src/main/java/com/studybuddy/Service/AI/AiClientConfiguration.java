@@ -0,0 +1,62 @@
+package com.studybuddy.Service.AI;
+
+import com.studybuddy.Service.AI.Resilience.ResilienceSettings;
+import com.studybuddy.Service.AI.Resilience.ResilientAiChatClient;
+import com.studybuddy.Service.AI.Routing.AiBackend;
+import com.studybuddy.Service.AI.Routing.RouterSettings;
+import com.studybuddy.Service.AI.Routing.RoutingAiChatClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monta o {@link AiChatClient} usado pelos serviços de geração: cache por fora, depois o
+ * roteador entre backends, cada endpoint com sua própria proteção (taxa, retry, breaker).
+ */
+@Configuration
+public class AiClientConfiguration {
+
+    @Bean
+    @Primary
+    public AiChatClient aiChatClient(OpenRouterAdapter openRouterAdapter,
+                                     AiResponseCache aiResponseCache,
+                                     ResilienceSettings resilienceSettings,
+                                     RouterSettings routerSettings,
+                                     @Value("${studybuddy.ai.cache.enabled:true}") boolean cacheEnabled) {
+        List<AiBackend> backends = new ArrayList<>();
+
+        AiChatClient openRouter = guard("openrouter", openRouterAdapter, resilienceSettings);
+        List<String> models = routerSettings.getOpenRouterModels().isEmpty()
+                ? List.of(AiRequest.DEFAULT_MODEL)
+                : routerSettings.getOpenRouterModels();
+        for (String model : models) {
+            backends.add(backend("openrouter:" + model, model, openRouter, routerSettings));
+        }
+
+        if (routerSettings.isLocalEnabled()) {
+            OpenRouterAdapter localAdapter = new OpenRouterAdapter("local", URI.create(routerSettings.getLocalUrl()), null);
+            AiChatClient local = guard("local", localAdapter, resilienceSettings);
+            backends.add(backend("local:" + routerSettings.getLocalModel(), routerSettings.getLocalModel(), local, routerSettings));
+        }
+
+        AiChatClient client = new RoutingAiChatClient(backends, routerSettings);
+        // o cache fica por fora: respostas em cache não gastam a cota do limitador
+        if (cacheEnabled) {
+            client = new CachingAiChatClient(client, aiResponseCache);
+        }
+        return client;
+    }
+
+    private AiChatClient guard(String name, AiChatClient client, ResilienceSettings resilienceSettings) {
+        return resilienceSettings.isEnabled() ? new ResilientAiChatClient(name, client, resilienceSettings) : client;
+    }
+
+    private AiBackend backend(String name, String model, AiChatClient client, RouterSettings routerSettings) {
+        return new AiBackend(name, model, client, routerSettings.getWindowSamples(), routerSettings.getWindowAge().toNanos());
+    }
+}
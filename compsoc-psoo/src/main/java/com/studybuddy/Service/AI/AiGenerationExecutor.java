@@ -0,0 +1,41 @@
+package com.studybuddy.Service.AI;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool para as etapas locais da geração (montar o contexto, parsear e persistir).
+ * A espera pela resposta do provedor não ocupa nenhuma thread daqui.
+ */
+@Component
+public class AiGenerationExecutor implements Executor {
+    private final ThreadPoolExecutor executor;
+
+    public AiGenerationExecutor(@Value("${studybuddy.ai.executor-threads:4}") int threads,
+                                @Value("${studybuddy.ai.executor-queue-capacity:256}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "ai-generation-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
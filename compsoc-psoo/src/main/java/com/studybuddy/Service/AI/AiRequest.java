@@ -4,16 +4,33 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class AiRequest {
+    public static final String DEFAULT_MODEL = "tngtech/deepseek-r1t2-chimera:free";
+
     private final String model;
     private final List<Message> messages;
     private final double temperature;
     private final int maxTokens;
+    private final String purpose;
 
     private AiRequest(Builder builder) {
         this.model = builder.model;
         this.messages = new ArrayList<>(builder.messages);
         this.temperature = builder.temperature;
         this.maxTokens = builder.maxTokens;
+        this.purpose = builder.purpose;
+    }
+
+    /**
+     * Cópia da requisição para outro modelo; usada pelo roteador ao escolher o backend.
+     */
+    public AiRequest withModel(String model) {
+        Builder builder = new Builder()
+                .model(model)
+                .temperature(temperature)
+                .maxTokens(maxTokens)
+                .purpose(purpose);
+        builder.messages.addAll(messages);
+        return builder.build();
     }
 
     public String getModel() {
@@ -32,6 +49,14 @@ public class AiRequest {
         return maxTokens;
     }
 
+    /**
+     * Tipo de geração que fez a requisição (ex.: GenerateQuestionsServiceImpl); não faz
+     * parte do conteúdo enviado ao provedor.
+     */
+    public String getPurpose() {
+        return purpose;
+    }
+
     public static class Message {
         private final String role;
         private final String content;
@@ -55,10 +80,11 @@ public class AiRequest {
     }
 
     public static class Builder {
-        private String model = "tngtech/deepseek-r1t2-chimera:free";
+        private String model = DEFAULT_MODEL;
         private List<Message> messages = new ArrayList<>();
         private double temperature = 0.0;
         private int maxTokens = 2000;
+        private String purpose = "default";
 
         public Builder model(String model) {
             this.model = model;
@@ -85,6 +111,11 @@ public class AiRequest {
             return this;
         }
 
+        public Builder purpose(String purpose) {
+            this.purpose = purpose;
+            return this;
+        }
+
         public AiRequest build() {
             if (messages.isEmpty()) {
                 throw new IllegalStateException("At least one message is required");
@@ -0,0 +1,33 @@
+package com.studybuddy.Service.AI;
+
+import com.studybuddy.Service.Extractor.ContentHasher;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * SHA-256 dos campos que determinam a resposta: modelo, mensagens, temperatura e max tokens.
+ */
+public final class AiRequestFingerprint {
+    private static final byte SEPARATOR = 0;
+
+    private AiRequestFingerprint() {
+    }
+
+    public static String of(AiRequest request) {
+        MessageDigest digest = ContentHasher.newDigest();
+        update(digest, request.getModel());
+        update(digest, Double.toString(request.getTemperature()));
+        update(digest, Integer.toString(request.getMaxTokens()));
+        for (AiRequest.Message message : request.getMessages()) {
+            update(digest, message.getRole());
+            update(digest, message.getContent());
+        }
+        return ContentHasher.toHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update(SEPARATOR);
+    }
+}
@@ -4,11 +4,16 @@ public class AiResponse {
     private final String content;
     private final int statusCode;
     private final String rawResponse;
+    private final String model;
 
-    public AiResponse(String content, int statusCode, String rawResponse) {
+    /**
+     * @param model modelo que de fato respondeu; com o roteador pode ser outro que o pedido
+     */
+    public AiResponse(String content, int statusCode, String rawResponse, String model) {
         this.content = content;
         this.statusCode = statusCode;
         this.rawResponse = rawResponse;
+        this.model = model;
     }
 
     public String getContent() {
@@ -23,6 +28,10 @@ public class AiResponse {
         return rawResponse;
     }
 
+    public String getModel() {
+        return model;
+    }
+
     public boolean isSuccessful() {
         return statusCode >= 200 && statusCode < 300;
     }
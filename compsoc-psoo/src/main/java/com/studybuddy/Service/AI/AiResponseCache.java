@@ -0,0 +1,171 @@
+package com.studybuddy.Service.AI;
+
+import com.studybuddy.Entity.AiResponseCacheEntity;
+import com.studybuddy.Repository.AI.AiResponseCacheEntityRepository;
+import com.studybuddy.Repository.AI.AiResponseCacheFingerprint;
+import com.studybuddy.Service.Cache.LruCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Respostas do provedor indexadas pela impressão digital da requisição
+ * ({@link AiRequestFingerprint}). Primeiro consulta o LRU em memória, depois a
+ * tabela ai_response_cache; entradas expiram após o TTL.
+ */
+@Component
+public class AiResponseCache {
+    private static final Logger log = LoggerFactory.getLogger(AiResponseCache.class);
+
+    private final AiResponseCacheEntityRepository aiResponseCacheEntityRepository;
+    private final TransactionTemplate requiresNewTransaction;
+    private final LruCache<String, CachedResponse> memoryTier;
+    private final Duration ttl;
+    private final int maxRows;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong databaseHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AiResponseCache(AiResponseCacheEntityRepository aiResponseCacheEntityRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${studybuddy.ai.cache.ttl-hours:168}") long ttlHours,
+                           @Value("${studybuddy.ai.cache.max-entries:512}") int maxEntries,
+                           @Value("${studybuddy.ai.cache.max-chars:20000000}") long maxChars,
+                           @Value("${studybuddy.ai.cache.max-rows:5000}") int maxRows) {
+        this.aiResponseCacheEntityRepository = aiResponseCacheEntityRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.memoryTier = new LruCache<>(maxEntries, maxChars, cached -> cached.content().length());
+        this.ttl = Duration.ofHours(ttlHours);
+        this.maxRows = maxRows;
+    }
+
+    public Optional<Entry> find(String fingerprint) {
+        Instant now = Instant.now();
+
+        CachedResponse cached = memoryTier.get(fingerprint);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(now)) {
+                memoryHits.incrementAndGet();
+                log.debug("AI response memory hit for {}", fingerprint);
+                return Optional.of(new Entry(cached.content(), cached.model()));
+            }
+            memoryTier.invalidate(fingerprint);
+        }
+
+        Optional<AiResponseCacheEntity> stored = aiResponseCacheEntityRepository.findById(fingerprint)
+                .filter(entity -> entity.getExpiresAt().isAfter(now));
+        if (stored.isEmpty()) {
+            misses.incrementAndGet();
+            log.debug("AI response miss for {}", fingerprint);
+            return Optional.empty();
+        }
+
+        AiResponseCacheEntity entity = stored.get();
+        memoryTier.put(fingerprint, new CachedResponse(entity.getContent(), entity.getModel(), entity.getExpiresAt()));
+        databaseHits.incrementAndGet();
+        log.debug("AI response database hit for {}", fingerprint);
+        return Optional.of(new Entry(entity.getContent(), entity.getModel()));
+    }
+
+    public void save(String fingerprint, String model, String content) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        memoryTier.put(fingerprint, new CachedResponse(content, model, expiresAt));
+
+        try {
+            requiresNewTransaction.executeWithoutResult(status -> {
+                AiResponseCacheEntity entity = aiResponseCacheEntityRepository.findById(fingerprint)
+                        .orElseGet(AiResponseCacheEntity::new);
+                entity.setFingerprint(fingerprint);
+                entity.setModel(model);
+                entity.setContent(content);
+                entity.setCharCount(content.length());
+                entity.setExpiresAt(expiresAt);
+                aiResponseCacheEntityRepository.save(entity);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // outra requisição persistiu a mesma resposta em paralelo
+            log.debug("AI response for {} already persisted concurrently", fingerprint);
+        }
+    }
+
+    /**
+     * Descarta uma resposta que não serviu (ex.: JSON inválido), para que a próxima
+     * chamada vá ao provedor em vez de repetir o mesmo erro.
+     */
+    public void evict(String fingerprint) {
+        memoryTier.invalidate(fingerprint);
+        requiresNewTransaction.executeWithoutResult(status -> {
+            if (aiResponseCacheEntityRepository.existsById(fingerprint)) {
+                aiResponseCacheEntityRepository.deleteById(fingerprint);
+            }
+        });
+        evictions.incrementAndGet();
+        log.debug("AI response evicted for {}", fingerprint);
+    }
+
+    /**
+     * Remove as linhas expiradas e, se a tabela passar de max-rows, as mais antigas.
+     */
+    @Scheduled(fixedDelayString = "${studybuddy.ai.cache.trim-interval-ms:3600000}",
+               initialDelayString = "${studybuddy.ai.cache.trim-interval-ms:3600000}")
+    public void trim() {
+        // na memória as entradas vencidas caem na leitura; o LRU já limita o tamanho
+        Instant now = Instant.now();
+        long expired = aiResponseCacheEntityRepository.deleteByExpiresAtBefore(now);
+        long overflow = aiResponseCacheEntityRepository.count() - maxRows;
+        long trimmed = 0;
+        if (overflow > 0) {
+            List<String> oldest = aiResponseCacheEntityRepository
+                    .findAllByOrderByCreatedAtAsc(PageRequest.of(0, (int) Math.min(overflow, Integer.MAX_VALUE)))
+                    .stream()
+                    .map(AiResponseCacheFingerprint::getFingerprint)
+                    .toList();
+            oldest.forEach(memoryTier::invalidate);
+            aiResponseCacheEntityRepository.deleteAllByIdInBatch(oldest);
+            trimmed = oldest.size();
+        }
+        evictions.addAndGet(expired + trimmed);
+
+        Stats stats = stats();
+        log.info("AI response cache: {} memory hits, {} database hits, {} misses, {} evictions; removed {} expired and {} overflow rows",
+                stats.memoryHits(), stats.databaseHits(), stats.misses(), stats.evictions(), expired, trimmed);
+    }
+
+    public Stats stats() {
+        return new Stats(memoryHits.get(), databaseHits.get(), misses.get(), evictions.get(),
+                memoryTier.size(), memoryTier.weight());
+    }
+
+    public record Stats(long memoryHits, long databaseHits, long misses, long evictions,
+                        int memoryEntries, long memoryChars) {
+        public double hitRatio() {
+            long lookups = memoryHits + databaseHits + misses;
+            return lookups == 0 ? 0.0 : (double) (memoryHits + databaseHits) / lookups;
+        }
+    }
+
+    /**
+     * Resposta guardada e o modelo que a produziu.
+     */
+    public record Entry(String content, String model) {
+    }
+
+    private record CachedResponse(String content, String model, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.studybuddy.Service.AI;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Decorador que devolve a resposta guardada quando a mesma requisição (modelo,
+ * mensagens, temperatura e max tokens) já foi respondida com sucesso.
+ */
+public class CachingAiChatClient implements AiChatClient {
+    private static final Logger log = LoggerFactory.getLogger(CachingAiChatClient.class);
+    private static final int CACHED_STATUS = 200;
+
+    private final AiChatClient delegate;
+    private final AiResponseCache cache;
+
+    public CachingAiChatClient(AiChatClient delegate, AiResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public CompletableFuture<AiResponse> sendRequestAsync(AiRequest request) {
+        String fingerprint = AiRequestFingerprint.of(request);
+        Optional<AiResponseCache.Entry> cached = lookup(fingerprint);
+        if (cached.isPresent()) {
+            log.info("Serving AI response for model {} from cache", cached.get().model());
+            return CompletableFuture.completedFuture(toResponse(cached.get()));
+        }
+        return delegate.sendRequestAsync(request)
+                .thenApply(response -> store(fingerprint, request, response));
+    }
+
+    @Override
+    public CompletableFuture<AiResponse> streamRequest(AiRequest request, Consumer<String> onDelta) {
+        String fingerprint = AiRequestFingerprint.of(request);
+        Optional<AiResponseCache.Entry> cached = lookup(fingerprint);
+        if (cached.isPresent()) {
+            log.info("Serving streamed AI response for model {} from cache", cached.get().model());
+            onDelta.accept(cached.get().content());
+            return CompletableFuture.completedFuture(toResponse(cached.get()));
+        }
+        return delegate.streamRequest(request, onDelta)
+                .thenApply(response -> store(fingerprint, request, response));
+    }
+
+    @Override
+    public void evict(AiRequest request) {
+        try {
+            cache.evict(AiRequestFingerprint.of(request));
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict cached AI response", e);
+        }
+        delegate.evict(request);
+    }
+
+    private Optional<AiResponseCache.Entry> lookup(String fingerprint) {
+        try {
+            return cache.find(fingerprint);
+        } catch (RuntimeException e) {
+            // cache indisponível não impede a chamada ao provedor
+            log.warn("AI response cache lookup failed, calling provider", e);
+            return Optional.empty();
+        }
+    }
+
+    private AiResponse store(String fingerprint, AiRequest request, AiResponse response) {
+        if (response.isSuccessful() && response.getContent() != null && !response.getContent().isBlank()) {
+            try {
+                // o roteador pode ter atendido com outro backend; vale o modelo que respondeu
+                String model = response.getModel() != null ? response.getModel() : request.getModel();
+                cache.save(fingerprint, model, response.getContent());
+            } catch (RuntimeException e) {
+                log.warn("Failed to cache AI response", e);
+            }
+        }
+        return response;
+    }
+
+    private AiResponse toResponse(AiResponseCache.Entry cached) {
+        return new AiResponse(cached.content(), CACHED_STATUS, null, cached.model());
+    }
+}
@@ -0,0 +1,83 @@
+package com.studybuddy.Service.AI;
+
+import com.studybuddy.Dto.Studyflow.Job.GenerationProgressDto;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progresso em memória das gerações em andamento, por studyflow e gerador; gerações de
+ * tipos diferentes no mesmo studyflow não apagam o progresso uma da outra. Só as gerações
+ * em map-reduce reportam blocos; o estado some quando a geração termina.
+ */
+@Component
+public class GenerationProgressTracker {
+    private final Map<UUID, Map<String, Progress>> progressByStudyflow = new ConcurrentHashMap<>();
+
+    public void start(UUID studyflowId, String generator, String phase, int totalChunks) {
+        progressByStudyflow.compute(studyflowId, (id, byGenerator) -> {
+            Map<String, Progress> progress = byGenerator != null ? byGenerator : new ConcurrentHashMap<>();
+            progress.put(generator, new Progress(generator, phase, totalChunks));
+            return progress;
+        });
+    }
+
+    public void advance(String generator, UUID studyflowId) {
+        Map<String, Progress> byGenerator = progressByStudyflow.get(studyflowId);
+        Progress progress = byGenerator != null ? byGenerator.get(generator) : null;
+        if (progress != null) {
+            progress.completed.incrementAndGet();
+            progress.updatedAt = Instant.now();
+        }
+    }
+
+    public void finish(String generator, UUID studyflowId) {
+        progressByStudyflow.computeIfPresent(studyflowId, (id, byGenerator) -> {
+            byGenerator.remove(generator);
+            return byGenerator.isEmpty() ? null : byGenerator;
+        });
+    }
+
+    /**
+     * Progresso atualizado mais recentemente entre as gerações do studyflow.
+     */
+    public Optional<GenerationProgressDto> findLatest(UUID studyflowId) {
+        Map<String, Progress> byGenerator = progressByStudyflow.get(studyflowId);
+        if (byGenerator == null) {
+            return Optional.empty();
+        }
+        return byGenerator.values().stream()
+                .max(Comparator.comparing(progress -> progress.updatedAt))
+                .map(Progress::toDto);
+    }
+
+    private static final class Progress {
+        private final String generator;
+        private final String phase;
+        private final int totalChunks;
+        private final AtomicInteger completed = new AtomicInteger();
+        private volatile Instant updatedAt = Instant.now();
+
+        private Progress(String generator, String phase, int totalChunks) {
+            this.generator = generator;
+            this.phase = phase;
+            this.totalChunks = totalChunks;
+        }
+
+        private GenerationProgressDto toDto() {
+            GenerationProgressDto dto = new GenerationProgressDto();
+            dto.setGenerator(generator);
+            dto.setPhase(phase);
+            dto.setCompletedChunks(completed.get());
+            dto.setTotalChunks(totalChunks);
+            dto.setUpdatedAt(updatedAt);
+            return dto;
+        }
+    }
+}
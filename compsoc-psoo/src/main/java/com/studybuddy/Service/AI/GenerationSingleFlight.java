@@ -0,0 +1,222 @@
+package com.studybuddy.Service.AI;
+
+import com.studybuddy.Exception.ResourceProcessingException;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Junta gerações concorrentes do mesmo tipo para o mesmo studyflow: a primeira chamada
+ * executa e as demais recebem o mesmo future. Com {@code studybuddy.ai.single-flight.advisory-lock}
+ * ligado, a execução também segura um advisory lock do Postgres, para que outra instância
+ * espere e reaproveite o resultado em vez de gerar de novo. A espera é feita com tentativas
+ * agendadas, sem ocupar threads do pool de geração nem conexões do pool do banco.
+ */
+@Component
+public class GenerationSingleFlight {
+    private static final Logger log = LoggerFactory.getLogger(GenerationSingleFlight.class);
+    private static final long LOCK_POLL_MILLIS = 250;
+
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService lockRetries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "single-flight-lock");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final DataSource dataSource;
+    private final boolean advisoryLock;
+    private final long lockWaitMillis;
+
+    public GenerationSingleFlight(DataSource dataSource,
+                                  @Value("${studybuddy.ai.single-flight.advisory-lock:false}") boolean advisoryLock,
+                                  @Value("${studybuddy.ai.single-flight.lock-wait-seconds:300}") long lockWaitSeconds) {
+        this.dataSource = dataSource;
+        this.advisoryLock = advisoryLock;
+        this.lockWaitMillis = lockWaitSeconds * 1000;
+    }
+
+    /**
+     * Executa {@code work} se não houver outra execução de {@code generator} para o studyflow;
+     * caso contrário devolve a que já está em andamento. {@code alreadyGenerated} é consultado
+     * depois de obter o lock, e se for verdadeiro a geração é pulada.
+     *
+     * @param executor onde o lock é obtido; a geração síncrona passa {@code Runnable::run}
+     */
+    public CompletableFuture<Void> run(String generator, UUID studyflowId, Executor executor,
+                                       BooleanSupplier alreadyGenerated, Supplier<CompletableFuture<Void>> work) {
+        String key = generator + ":" + studyflowId;
+        CompletableFuture<Void> flight = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            log.info("Joining in-flight {} generation for studyflow {}", generator, studyflowId);
+            return existing.copy();
+        }
+
+        CompletableFuture<Void> execution;
+        try {
+            execution = advisoryLock
+                    ? runLocked(generator, studyflowId, executor, alreadyGenerated, work)
+                    : runUnlocked(generator, studyflowId, alreadyGenerated, work);
+        } catch (RuntimeException e) {
+            execution = CompletableFuture.failedFuture(e);
+        }
+
+        execution.whenComplete((ignored, error) -> {
+            inFlight.remove(key, flight);
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(null);
+            }
+        });
+        return flight.copy();
+    }
+
+    public boolean isInFlight(String generator, UUID studyflowId) {
+        return inFlight.containsKey(generator + ":" + studyflowId);
+    }
+
+    private CompletableFuture<Void> runUnlocked(String generator, UUID studyflowId,
+                                                BooleanSupplier alreadyGenerated, Supplier<CompletableFuture<Void>> work) {
+        if (alreadyGenerated.getAsBoolean()) {
+            log.info("{} output already exists for studyflow {}, skipping generation", generator, studyflowId);
+            return CompletableFuture.completedFuture(null);
+        }
+        return work.get();
+    }
+
+    private CompletableFuture<Void> runLocked(String generator, UUID studyflowId, Executor executor,
+                                              BooleanSupplier alreadyGenerated, Supplier<CompletableFuture<Void>> work) {
+        long lockKey = lockKey(generator, studyflowId);
+        CompletableFuture<Connection> acquired = new CompletableFuture<>();
+        long deadline = System.currentTimeMillis() + lockWaitMillis;
+        executor.execute(() -> attempt(lockKey, generator, studyflowId, deadline, acquired));
+
+        return acquired.thenCompose(connection -> {
+            CompletableFuture<Void> execution;
+            try {
+                execution = runUnlocked(generator, studyflowId, alreadyGenerated, work);
+            } catch (RuntimeException e) {
+                execution = CompletableFuture.failedFuture(e);
+            }
+            return execution.whenComplete((done, error) -> release(connection, lockKey, generator, studyflowId));
+        });
+    }
+
+    /**
+     * Uma tentativa do lock. O advisory lock é de sessão, então só quem o obtém fica com a
+     * conexão até o fim da geração; quem perde devolve a conexão ao pool e reagenda a
+     * tentativa em vez de deixar uma thread ou uma conexão paradas esperando.
+     */
+    private void attempt(long lockKey, String generator, UUID studyflowId,
+                         long deadline, CompletableFuture<Connection> acquired) {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            if (tryLock(connection, lockKey)) {
+                log.debug("Acquired advisory lock for {} on studyflow {}", generator, studyflowId);
+                acquired.complete(connection);
+                return;
+            }
+            closeQuietly(connection);
+            if (System.currentTimeMillis() >= deadline) {
+                throw new ResourceProcessingException("Timed out waiting for " + generator + " lock on studyflow " + studyflowId);
+            }
+            lockRetries.schedule(() -> attempt(lockKey, generator, studyflowId, deadline, acquired),
+                    LOCK_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            acquired.completeExceptionally(
+                    new ResourceProcessingException("Failed to acquire advisory lock for studyflow " + studyflowId, e));
+        } catch (RuntimeException e) {
+            acquired.completeExceptionally(e);
+        }
+    }
+
+    private boolean tryLock(Connection connection, long lockKey) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select pg_try_advisory_lock(?)")) {
+            statement.setLong(1, lockKey);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void release(Connection connection, long lockKey, String generator, UUID studyflowId) {
+        try (PreparedStatement statement = connection.prepareStatement("select pg_advisory_unlock(?)")) {
+            statement.setLong(1, lockKey);
+            statement.execute();
+            closeQuietly(connection);
+        } catch (SQLException e) {
+            // a conexão volta para o pool com a sessão aberta; descartá-la encerra a sessão e solta o lock
+            log.warn("Failed to release advisory lock for {} on studyflow {}, evicting connection", generator, studyflowId, e);
+            evict(connection);
+        }
+    }
+
+    /**
+     * Chave de 64 bits do lock: os primeiros 8 bytes do SHA-256 de gerador e studyflow.
+     * Dois {@code hashCode()} de 32 bits colidiam com facilidade entre studyflows.
+     */
+    private static long lockKey(String generator, UUID studyflowId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((generator + ":" + studyflowId).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lockRetries.shutdownNow();
+    }
+
+    private void evict(Connection connection) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                dataSource.unwrap(HikariDataSource.class).evictConnection(connection);
+                return;
+            }
+        } catch (SQLException e) {
+            log.warn("Failed to evict advisory lock connection", e);
+        }
+        closeQuietly(connection);
+    }
+
+    private void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Failed to close advisory lock connection", e);
+        }
+    }
+}
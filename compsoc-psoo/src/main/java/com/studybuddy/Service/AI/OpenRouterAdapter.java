@@ -1,5 +1,6 @@
 package com.studybuddy.Service.AI;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.studybuddy.Exception.AiProviderException;
@@ -11,10 +12,18 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
@@ -25,53 +34,164 @@ public class OpenRouterAdapter implements AiChatClient {
 
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final String name;
+    private final URI endpoint;
     private final String apiKey;
 
     public OpenRouterAdapter() {
-        this.httpClient = HttpClient.newHttpClient();
-        this.objectMapper = new ObjectMapper();
-        this.apiKey = "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";
+        this("OpenRouter", URI.create(OPENROUTER_URL), "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");
         if (this.apiKey == null || this.apiKey.isBlank()) {
             throw new IllegalStateException("OPENROUTER_API_KEY environment variable is not set");
         }
     }
 
+    /**
+     * Cliente para qualquer endpoint compatível com a API de chat completions da OpenAI
+     * (ex.: o servidor local de testes); sem chave, o header Authorization não é enviado.
+     */
+    public OpenRouterAdapter(String name, URI endpoint, String apiKey) {
+        this.httpClient = HttpClient.newHttpClient();
+        this.objectMapper = new ObjectMapper();
+        this.name = name;
+        this.endpoint = endpoint;
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public CompletableFuture<AiResponse> sendRequestAsync(AiRequest request) {
+        HttpRequest httpRequest;
+        try {
+            httpRequest = buildHttpRequest(request, false);
+        } catch (Exception e) {
+            log.error("Failed to build {} request", name, e);
+            return CompletableFuture.failedFuture(new AiProviderException("Failed to build " + name + " request", e));
+        }
+
+        CompletableFuture<HttpResponse<String>> exchange = httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString());
+        return abortOnCancel(exchange, exchange.handle((response, error) -> {
+            if (error != null) {
+                throw communicationFailure(error);
+            }
+            return toAiResponse(response, request.getModel());
+        }));
+    }
+
+    /**
+     * Pede a resposta com {@code stream: true} e repassa cada trecho de texto para
+     * {@code onDelta} conforme os eventos SSE chegam.
+     */
     @Override
-    public AiResponse sendRequest(AiRequest request) {
+    public CompletableFuture<AiResponse> streamRequest(AiRequest request, Consumer<String> onDelta) {
+        HttpRequest httpRequest;
         try {
-            log.debug("Sending request to OpenRouter API with model: {}", request.getModel());
-            
-            Map<String, Object> body = buildRequestBody(request);
-            String jsonBody = objectMapper.writeValueAsString(body);
-            System.out.println(jsonBody);
-
-            HttpRequest httpRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(OPENROUTER_URL))
-                    .timeout(Duration.ofSeconds(TIMEOUT_SECONDS))
-                    .header("Authorization", "Bearer " + apiKey)
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            httpRequest = buildHttpRequest(request, true);
+        } catch (Exception e) {
+            log.error("Failed to build {} request", name, e);
+            return CompletableFuture.failedFuture(new AiProviderException("Failed to build " + name + " request", e));
+        }
+
+        SseChunkSubscriber chunks = new SseChunkSubscriber(objectMapper, onDelta);
+        HttpResponse.BodyHandler<String> handler = info -> info.statusCode() / 100 == 2
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(chunks, SseChunkSubscriber::getContent, StandardCharsets.UTF_8, null)
+                : HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
 
+        CompletableFuture<HttpResponse<String>> exchange = httpClient.sendAsync(httpRequest, handler);
+        return abortOnCancel(exchange, exchange.handle((response, error) -> {
+            if (error != null) {
+                throw communicationFailure(error);
+            }
             if (response.statusCode() / 100 != 2) {
-                log.error("OpenRouter API error: {} - {}", response.statusCode(), response.body());
-                throw new AiProviderException(
-                    String.format("OpenRouter API returned status %d: %s", response.statusCode(), response.body())
-                );
+                throw providerError(response);
+            }
+            if (chunks.getError() != null) {
+                throw new AiProviderException(name + " stream failed: " + chunks.getError());
+            }
+            if (response.body().isEmpty()) {
+                throw new AiProviderException("No content found in streamed response");
             }
 
-            String content = extractContentFromResponse(response.body());
-            log.debug("Received response from OpenRouter API, content length: {}", content.length());
-            
-            return new AiResponse(content, response.statusCode(), response.body());
+            log.debug("Streamed response from {} API, content length: {}", name, response.body().length());
+            return new AiResponse(response.body(), response.statusCode(), response.body(), request.getModel());
+        }));
+    }
 
-        } catch (AiProviderException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to communicate with OpenRouter API", e);
-            throw new AiProviderException("Failed to communicate with OpenRouter API", e);
+    /**
+     * Cancelar a resposta (por exemplo, o perdedor de um hedge) aborta a requisição HTTP.
+     */
+    private static CompletableFuture<AiResponse> abortOnCancel(CompletableFuture<?> exchange, CompletableFuture<AiResponse> response) {
+        response.whenComplete((result, error) -> {
+            if (response.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return response;
+    }
+
+    private HttpRequest buildHttpRequest(AiRequest request, boolean stream) throws JsonProcessingException {
+        log.debug("Sending request to {} API with model: {}", name, request.getModel());
+
+        Map<String, Object> body = buildRequestBody(request);
+        if (stream) {
+            body.put("stream", true);
+        }
+        String jsonBody = objectMapper.writeValueAsString(body);
+        System.out.println(jsonBody);
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(endpoint)
+                .timeout(Duration.ofSeconds(TIMEOUT_SECONDS))
+                .header("Content-Type", "application/json")
+                .header("Accept", stream ? "text/event-stream" : "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody));
+        if (apiKey != null && !apiKey.isBlank()) {
+            builder.header("Authorization", "Bearer " + apiKey);
+        }
+        return builder.build();
+    }
+
+    private AiProviderException communicationFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof AiProviderException providerException) {
+            return providerException;
+        }
+        log.error("Failed to communicate with {} API", name, cause);
+        return new AiProviderException("Failed to communicate with " + name + " API", cause);
+    }
+
+    private AiResponse toAiResponse(HttpResponse<String> response, String model) {
+        if (response.statusCode() / 100 != 2) {
+            throw providerError(response);
+        }
+
+        String content = extractContentFromResponse(response.body());
+        log.debug("Received response from {} API, content length: {}", name, content.length());
+
+        return new AiResponse(content, response.statusCode(), response.body(), model);
+    }
+
+    private AiProviderException providerError(HttpResponse<String> response) {
+        log.error("{} API error: {} - {}", name, response.statusCode(), response.body());
+        return new AiProviderException(
+            String.format("%s API returned status %d: %s", name, response.statusCode(), response.body()),
+            response.statusCode(),
+            response.headers().firstValue("Retry-After").map(OpenRouterAdapter::parseRetryAfter).orElse(null)
+        );
+    }
+
+    /**
+     * Retry-After pode vir em segundos ou como data HTTP.
+     */
+    private static Duration parseRetryAfter(String value) {
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                Duration wait = Duration.between(Instant.now(), at);
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
         }
     }
 
@@ -96,7 +216,7 @@ public class OpenRouterAdapter implements AiChatClient {
 
             if (!root.has("choices") || !root.path("choices").isArray() || root.path("choices").size() == 0) {
                 log.error("Response missing choices array or array is empty");
-                throw new AiProviderException("Invalid response structure from OpenRouter");
+                throw new AiProviderException("Invalid response structure from " + name);
             }
 
             JsonNode firstChoice = root.path("choices").get(0);
@@ -126,8 +246,8 @@ public class OpenRouterAdapter implements AiChatClient {
         } catch (AiProviderException e) {
             throw e;
         } catch (Exception e) {
-            log.error("Failed to parse OpenRouter response", e);
-            throw new AiProviderException("Failed to parse OpenRouter response", e);
+            log.error("Failed to parse {} response", name, e);
+            throw new AiProviderException("Failed to parse " + name + " response", e);
         }
     }
 }
@@ -0,0 +1,51 @@
+package com.studybuddy.Service.AI.Resilience;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Semáforo assíncrono: quem não consegue permissão recebe um future que completa
+ * quando outra chamada libera a sua, sem prender thread.
+ */
+final class ModelPermits {
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int available;
+
+    ModelPermits(int permits) {
+        this.available = Math.max(1, permits);
+    }
+
+    CompletableFuture<Void> acquire() {
+        synchronized (this) {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            // quem desistiu por timeout já está completo; a permissão passa para o próximo
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    synchronized int waiting() {
+        return waiters.size();
+    }
+}
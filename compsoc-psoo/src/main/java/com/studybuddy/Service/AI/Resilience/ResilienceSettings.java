@@ -0,0 +1,92 @@
+package com.studybuddy.Service.AI.Resilience;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros de {@link ResilientAiChatClient}, lidos de {@code studybuddy.ai.resilience.*}.
+ */
+@Component
+public class ResilienceSettings {
+    private final boolean enabled;
+    private final double ratePerSecond;
+    private final int burst;
+    private final int maxConcurrentPerModel;
+    private final Duration acquireTimeout;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration maxRetryAfter;
+    private final int breakerFailureThreshold;
+    private final Duration breakerOpenDuration;
+
+    public ResilienceSettings(@Value("${studybuddy.ai.resilience.enabled:true}") boolean enabled,
+                              @Value("${studybuddy.ai.resilience.rate-per-second:5}") double ratePerSecond,
+                              @Value("${studybuddy.ai.resilience.burst:10}") int burst,
+                              @Value("${studybuddy.ai.resilience.max-concurrent-per-model:4}") int maxConcurrentPerModel,
+                              @Value("${studybuddy.ai.resilience.acquire-timeout-seconds:30}") long acquireTimeoutSeconds,
+                              @Value("${studybuddy.ai.resilience.max-attempts:3}") int maxAttempts,
+                              @Value("${studybuddy.ai.resilience.base-backoff-ms:500}") long baseBackoffMs,
+                              @Value("${studybuddy.ai.resilience.max-backoff-ms:8000}") long maxBackoffMs,
+                              @Value("${studybuddy.ai.resilience.max-retry-after-seconds:30}") long maxRetryAfterSeconds,
+                              @Value("${studybuddy.ai.resilience.breaker.failure-threshold:5}") int breakerFailureThreshold,
+                              @Value("${studybuddy.ai.resilience.breaker.open-seconds:30}") long breakerOpenSeconds) {
+        this.enabled = enabled;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxConcurrentPerModel = maxConcurrentPerModel;
+        this.acquireTimeout = Duration.ofSeconds(acquireTimeoutSeconds);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.maxRetryAfter = Duration.ofSeconds(maxRetryAfterSeconds);
+        this.breakerFailureThreshold = breakerFailureThreshold;
+        this.breakerOpenDuration = Duration.ofSeconds(breakerOpenSeconds);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public int getMaxConcurrentPerModel() {
+        return maxConcurrentPerModel;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getBaseBackoff() {
+        return baseBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public Duration getMaxRetryAfter() {
+        return maxRetryAfter;
+    }
+
+    public int getBreakerFailureThreshold() {
+        return breakerFailureThreshold;
+    }
+
+    public Duration getBreakerOpenDuration() {
+        return breakerOpenDuration;
+    }
+}
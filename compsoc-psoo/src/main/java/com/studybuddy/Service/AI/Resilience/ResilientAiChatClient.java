@@ -0,0 +1,253 @@
+package com.studybuddy.Service.AI.Resilience;
+
+import com.studybuddy.Exception.AiProviderException;
+import com.studybuddy.Service.AI.AiChatClient;
+import com.studybuddy.Service.AI.AiRequest;
+import com.studybuddy.Service.AI.AiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Decorador que protege o provedor e quem chama: limita a taxa (token bucket) e as
+ * chamadas simultâneas por modelo, repete 429/5xx/falhas de rede com backoff exponencial
+ * com jitter (respeitando Retry-After) e abre um circuit breaker por modelo para falhar
+ * rápido quando o provedor está fora. Nenhuma espera ocupa thread.
+ */
+public class ResilientAiChatClient implements AiChatClient {
+    private static final Logger log = LoggerFactory.getLogger(ResilientAiChatClient.class);
+
+    private final String name;
+    private final AiChatClient delegate;
+    private final ResilienceSettings settings;
+    private final TokenBucket tokenBucket;
+    private final Map<String, ModelPermits> permitsByModel = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> breakersByModel = new ConcurrentHashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public ResilientAiChatClient(String name, AiChatClient delegate, ResilienceSettings settings) {
+        this.name = name;
+        this.delegate = delegate;
+        this.settings = settings;
+        this.tokenBucket = new TokenBucket(settings.getRatePerSecond(), settings.getBurst());
+    }
+
+    @Override
+    public CompletableFuture<AiResponse> sendRequestAsync(AiRequest request) {
+        calls.incrementAndGet();
+        return cancellable(caller -> attempt(request, delegate::sendRequestAsync, () -> true, 1, caller));
+    }
+
+    /**
+     * Só repete enquanto nenhum trecho foi entregue, para não duplicar texto em {@code onDelta}.
+     */
+    @Override
+    public CompletableFuture<AiResponse> streamRequest(AiRequest request, Consumer<String> onDelta) {
+        calls.incrementAndGet();
+        AtomicBoolean delivered = new AtomicBoolean();
+        Consumer<String> tracking = delta -> {
+            delivered.set(true);
+            onDelta.accept(delta);
+        };
+        return cancellable(caller -> attempt(request, r -> delegate.streamRequest(r, tracking), () -> !delivered.get(), 1, caller));
+    }
+
+    @Override
+    public void evict(AiRequest request) {
+        delegate.evict(request);
+    }
+
+    public Stats stats() {
+        long open = breakersByModel.values().stream().filter(breaker -> breaker.getState() != CircuitBreaker.State.CLOSED).count();
+        int waiting = permitsByModel.values().stream().mapToInt(ModelPermits::waiting).sum();
+        return new Stats(calls.get(), attempts.get(), retries.get(), throttled.get(), rejected.get(), failures.get(), (int) open, waiting);
+    }
+
+    public record Stats(long calls, long attempts, long retries, long throttled, long rejected, long failures,
+                        int openBreakers, int waitingForPermit) {
+    }
+
+    /**
+     * Devolve um future que quem chama pode cancelar (o roteador cancela o perdedor de um
+     * hedge): o cancelamento desiste da fila de permissões ou cancela a chamada em andamento,
+     * e a permissão do modelo volta para o próximo.
+     */
+    private CompletableFuture<AiResponse> cancellable(Function<CompletableFuture<AiResponse>, CompletableFuture<AiResponse>> attempts) {
+        CompletableFuture<AiResponse> caller = new CompletableFuture<>();
+        attempts.apply(caller).whenComplete((response, error) -> {
+            if (error != null) {
+                caller.completeExceptionally(unwrap(error));
+            } else {
+                caller.complete(response);
+            }
+        });
+        return caller;
+    }
+
+    private CompletableFuture<AiResponse> attempt(AiRequest request, Function<AiRequest, CompletableFuture<AiResponse>> call,
+                                                  BooleanSupplier canRetry, int attempt, CompletableFuture<AiResponse> caller) {
+        if (caller.isCancelled()) {
+            return CompletableFuture.failedFuture(new CancellationException("AI request cancelled by the caller"));
+        }
+        String model = request.getModel();
+        CircuitBreaker breaker = breakersByModel.computeIfAbsent(model, key ->
+                new CircuitBreaker(name + "/" + key, settings.getBreakerFailureThreshold(), settings.getBreakerOpenDuration()));
+        if (!breaker.tryAcquire()) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new AiProviderException(
+                    "AI provider " + name + " unavailable for model " + model + " (circuit open), failing fast", 503, null));
+        }
+
+        long waitNanos = tokenBucket.reserve(settings.getAcquireTimeout().toNanos());
+        if (waitNanos < 0) {
+            breaker.onIgnored();
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new AiProviderException("AI request rate limit exceeded for " + name, 429, null));
+        }
+
+        ModelPermits permits = permitsByModel.computeIfAbsent(model, key -> new ModelPermits(settings.getMaxConcurrentPerModel()));
+        CompletableFuture<Void> ready = waitNanos == 0
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+
+        return ready
+                .thenCompose(ignored -> {
+                    CompletableFuture<Void> permit = permits.acquire().orTimeout(settings.getAcquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                    cancelWith(caller, permit);
+                    return permit;
+                })
+                .thenCompose(ignored -> {
+                    if (caller.isCancelled()) {
+                        permits.release();
+                        return CompletableFuture.<AiResponse>failedFuture(new CancellationException("AI request cancelled by the caller"));
+                    }
+                    attempts.incrementAndGet();
+                    CompletableFuture<AiResponse> response;
+                    try {
+                        response = call.apply(request);
+                    } catch (RuntimeException e) {
+                        response = CompletableFuture.failedFuture(e);
+                    }
+                    cancelWith(caller, response);
+                    return response.whenComplete((result, error) -> permits.release());
+                })
+                .handle((response, error) -> {
+                    if (error == null) {
+                        breaker.onSuccess();
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    if (caller.isCancelled()) {
+                        // desistência de quem chamou não conta como falha do provedor
+                        breaker.onIgnored();
+                        return CompletableFuture.<AiResponse>failedFuture(unwrap(error));
+                    }
+                    return onFailure(request, call, canRetry, attempt, breaker, unwrap(error), caller);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<AiResponse> onFailure(AiRequest request, Function<AiRequest, CompletableFuture<AiResponse>> call,
+                                                    BooleanSupplier canRetry, int attempt, CircuitBreaker breaker, Throwable cause,
+                                                    CompletableFuture<AiResponse> caller) {
+        if (cause instanceof TimeoutException) {
+            breaker.onIgnored();
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new AiProviderException(
+                    "Timed out waiting for a free " + name + " slot for model " + request.getModel(), 429, null));
+        }
+
+        int status = cause instanceof AiProviderException providerException ? providerException.getStatusCode() : 0;
+        boolean retryable = isRetryable(cause, status);
+        if (status == 429) {
+            throttled.incrementAndGet();
+            breaker.onIgnored();
+        } else if (retryable) {
+            breaker.onFailure();
+        } else {
+            breaker.onIgnored();
+        }
+
+        // com o circuito aberto a nova tentativa seria recusada de qualquer forma
+        if (!retryable || attempt >= settings.getMaxAttempts() || !canRetry.getAsBoolean()
+                || breaker.getState() == CircuitBreaker.State.OPEN) {
+            failures.incrementAndGet();
+            return CompletableFuture.failedFuture(cause);
+        }
+
+        Duration delay = backoff(attempt, cause);
+        if (delay == null) {
+            failures.incrementAndGet();
+            log.warn("{} asked to retry after more than {}s, giving up", name, settings.getMaxRetryAfter().toSeconds());
+            return CompletableFuture.failedFuture(cause);
+        }
+
+        retries.incrementAndGet();
+        log.warn("{} attempt {}/{} for model {} failed (status {}), retrying in {}ms: {}", name, attempt,
+                settings.getMaxAttempts(), request.getModel(), status, delay.toMillis(), cause.getMessage());
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS))
+                .thenCompose(ignored -> attempt(request, call, canRetry, attempt + 1, caller));
+    }
+
+    /**
+     * Backoff exponencial com jitter total; um Retry-After do provedor vira o mínimo da espera.
+     * Devolve null se o provedor pediu uma espera maior que {@code max-retry-after-seconds}.
+     */
+    private Duration backoff(int attempt, Throwable cause) {
+        long ceiling = Math.min(settings.getMaxBackoff().toMillis(), settings.getBaseBackoff().toMillis() << Math.min(attempt - 1, 20));
+        long jittered = ThreadLocalRandom.current().nextLong(ceiling + 1);
+
+        if (cause instanceof AiProviderException providerException && providerException.getRetryAfter().isPresent()) {
+            Duration retryAfter = providerException.getRetryAfter().get();
+            if (retryAfter.compareTo(settings.getMaxRetryAfter()) > 0) {
+                return null;
+            }
+            return Duration.ofMillis(Math.max(retryAfter.toMillis(), jittered));
+        }
+        return Duration.ofMillis(jittered);
+    }
+
+    private boolean isRetryable(Throwable cause, int status) {
+        if (status == 408 || status == 429 || status == 500 || status == 502 || status == 503 || status == 504) {
+            return true;
+        }
+        // sem status: só falhas de rede (conexão recusada, timeout) valem nova tentativa
+        return status == 0 && (cause instanceof IOException || cause.getCause() instanceof IOException);
+    }
+
+    private static void cancelWith(CompletableFuture<?> caller, CompletableFuture<?> step) {
+        caller.whenComplete((result, error) -> {
+            if (caller.isCancelled()) {
+                step.cancel(true);
+            }
+        });
+    }
+
+    private Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,37 @@
+package com.studybuddy.Service.AI.Resilience;
+
+/**
+ * Token bucket por reserva: quem chama recebe quanto tempo esperar em vez de bloquear.
+ * Os tokens podem ficar negativos, o que enfileira as reservas seguintes.
+ */
+final class TokenBucket {
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(double tokensPerSecond, int burst) {
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.capacity = Math.max(1, burst);
+        this.tokens = this.capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Reserva um token e devolve a espera em nanossegundos, ou -1 se a espera passaria
+     * de {@code maxWaitNanos} (nesse caso nada é reservado).
+     */
+    synchronized long reserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+
+        double after = tokens - 1;
+        long waitNanos = after >= 0 ? 0 : (long) Math.ceil(-after / tokensPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens = after;
+        return waitNanos;
+    }
+}
@@ -0,0 +1,56 @@
+package com.studybuddy.Service.AI.Routing;
+
+import com.studybuddy.Service.AI.AiChatClient;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Um destino do roteador: um cliente (endpoint) e o modelo usado nele, com as
+ * estatísticas de latência por tipo de geração.
+ */
+public class AiBackend {
+    private final String name;
+    private final String model;
+    private final AiChatClient client;
+    private final int windowSamples;
+    private final long windowNanos;
+    private final Map<String, LatencyWindow> windowsByPurpose = new ConcurrentHashMap<>();
+    private final LatencyWindow overall;
+
+    public AiBackend(String name, String model, AiChatClient client, int windowSamples, long windowNanos) {
+        this.name = name;
+        this.model = model;
+        this.client = client;
+        this.windowSamples = windowSamples;
+        this.windowNanos = windowNanos;
+        this.overall = new LatencyWindow(windowSamples, windowNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    AiChatClient getClient() {
+        return client;
+    }
+
+    void record(String purpose, long latencyNanos, boolean success) {
+        overall.record(latencyNanos, success);
+        windowsByPurpose.computeIfAbsent(purpose, key -> new LatencyWindow(windowSamples, windowNanos))
+                .record(latencyNanos, success);
+    }
+
+    LatencyWindow.Snapshot snapshot(String purpose) {
+        LatencyWindow window = windowsByPurpose.get(purpose);
+        return window == null ? new LatencyWindow.Snapshot(0, 0, -1, -1) : window.snapshot();
+    }
+
+    LatencyWindow.Snapshot overall() {
+        return overall.snapshot();
+    }
+}
@@ -0,0 +1,64 @@
+package com.studybuddy.Service.AI.Routing;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Últimas chamadas de um backend dentro de uma janela de tempo e de tamanho: latências
+ * das que deram certo e a taxa de erro. Amostras antigas saem para que um backend que
+ * falhou volte a ser testado depois de um tempo.
+ */
+final class LatencyWindow {
+    private final int maxSamples;
+    private final long maxAgeNanos;
+    private final Deque<Sample> samples = new ArrayDeque<>();
+
+    LatencyWindow(int maxSamples, long maxAgeNanos) {
+        this.maxSamples = maxSamples;
+        this.maxAgeNanos = maxAgeNanos;
+    }
+
+    synchronized void record(long latencyNanos, boolean success) {
+        samples.addLast(new Sample(System.nanoTime(), latencyNanos, success));
+        while (samples.size() > maxSamples) {
+            samples.removeFirst();
+        }
+    }
+
+    synchronized Snapshot snapshot() {
+        long oldest = System.nanoTime() - maxAgeNanos;
+        while (!samples.isEmpty() && samples.peekFirst().at() < oldest) {
+            samples.removeFirst();
+        }
+
+        long[] latencies = samples.stream().filter(Sample::success).mapToLong(Sample::latencyNanos).toArray();
+        Arrays.sort(latencies);
+        int errors = samples.size() - latencies.length;
+        return new Snapshot(samples.size(), errors, percentile(latencies, 0.50), percentile(latencies, 0.95));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return -1;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private record Sample(long at, long latencyNanos, boolean success) {
+    }
+
+    /**
+     * p50/p95 em nanossegundos, ou -1 sem chamadas bem-sucedidas na janela.
+     */
+    record Snapshot(int samples, int errors, long p50Nanos, long p95Nanos) {
+        double errorRate() {
+            return samples == 0 ? 0.0 : (double) errors / samples;
+        }
+
+        boolean hasLatency() {
+            return p50Nanos >= 0;
+        }
+    }
+}
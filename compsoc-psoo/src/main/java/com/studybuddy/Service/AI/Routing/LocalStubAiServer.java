@@ -0,0 +1,151 @@
+package com.studybuddy.Service.AI.Routing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor local compatível com /v1/chat/completions da OpenAI, para rodar a geração sem
+ * cota nem rede (testes e desenvolvimento). Responde conteúdo fixo no formato que cada
+ * gerador espera, com ou sem streaming, e atraso configurável para exercitar o hedge.
+ */
+@Component
+@ConditionalOnProperty(name = "studybuddy.ai.local.stub-server.enabled", havingValue = "true")
+public class LocalStubAiServer {
+    private static final Logger log = LoggerFactory.getLogger(LocalStubAiServer.class);
+    private static final int STREAM_PIECE_CHARS = 24;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int port;
+    private final long delayMillis;
+    private HttpServer server;
+
+    public LocalStubAiServer(@Value("${studybuddy.ai.local.stub-server.port:8089}") int port,
+                             @Value("${studybuddy.ai.local.stub-server.delay-ms:0}") long delayMillis) {
+        this.port = port;
+        this.delayMillis = delayMillis;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "ai-stub-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        log.info("Local AI stub server listening on http://localhost:{}/v1/chat/completions", port);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            String model = body.path("model").asText("local-stub");
+            String content = contentFor(body.path("messages"));
+
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+
+            if (body.path("stream").asBoolean(false)) {
+                writeStream(exchange, model, content);
+            } else {
+                writeCompletion(exchange, model, content);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Local AI stub server failed to answer", e);
+        }
+    }
+
+    /**
+     * Decide o formato pela instrução do prompt: questões, lista de tópicos ou overview.
+     */
+    private String contentFor(JsonNode messages) throws IOException {
+        StringBuilder prompt = new StringBuilder();
+        messages.forEach(message -> prompt.append(message.path("content").asText()).append('\n'));
+        String text = prompt.toString();
+
+        if (text.contains("question generator")) {
+            ArrayNode questions = objectMapper.createArrayNode();
+            for (int i = 1; i <= 3; i++) {
+                ObjectNode question = questions.addObject();
+                question.put("id", "stub-q" + i);
+                question.put("type", "SHORT_ANSWER");
+                question.put("question", "Pergunta de teste " + i + "?");
+                question.put("expectedAnswer", "Resposta de teste " + i);
+                question.putArray("answers");
+                question.put("difficulty", i);
+                question.putArray("tags");
+            }
+            return objectMapper.writeValueAsString(questions);
+        }
+        if (text.contains("JSON ARRAY")) {
+            return objectMapper.writeValueAsString(new String[]{"Tópico de teste 1", "Tópico de teste 2", "Tópico de teste 3"});
+        }
+        return "# Overview de teste\n\n## Resumo\n\nConteúdo gerado pelo servidor local de testes.\n\n"
+                + "## Principais Conceitos\n\n- Conceito 1\n- Conceito 2\n";
+    }
+
+    private void writeCompletion(HttpExchange exchange, String model, String content) throws IOException {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("id", "stub-completion");
+        response.put("model", model);
+        ObjectNode choice = response.putArray("choices").addObject();
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", "stop");
+
+        byte[] bytes = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void writeStream(HttpExchange exchange, String model, String content) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int start = 0; start < content.length(); start += STREAM_PIECE_CHARS) {
+                ObjectNode chunk = objectMapper.createObjectNode();
+                chunk.put("model", model);
+                chunk.putArray("choices").addObject().putObject("delta")
+                        .put("content", content.substring(start, Math.min(content.length(), start + STREAM_PIECE_CHARS)));
+                out.write(("data: " + objectMapper.writeValueAsString(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+            out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
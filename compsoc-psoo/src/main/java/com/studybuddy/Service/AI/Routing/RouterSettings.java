@@ -0,0 +1,98 @@
+package com.studybuddy.Service.AI.Routing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Backends e parâmetros do {@link RoutingAiChatClient}, lidos de {@code studybuddy.ai.router.*}
+ * e {@code studybuddy.ai.local.*}.
+ */
+@Component
+public class RouterSettings {
+    private final List<String> openRouterModels;
+    private final boolean localEnabled;
+    private final String localUrl;
+    private final String localModel;
+    private final int windowSamples;
+    private final Duration windowAge;
+    private final int minSamples;
+    private final double maxErrorRate;
+    private final boolean hedgingEnabled;
+    private final Duration hedgeMinDelay;
+    private final Duration hedgeMaxDelay;
+
+    public RouterSettings(@Value("${studybuddy.ai.router.models:tngtech/deepseek-r1t2-chimera:free}") String openRouterModels,
+                          @Value("${studybuddy.ai.local.enabled:false}") boolean localEnabled,
+                          @Value("${studybuddy.ai.local.url:http://localhost:8089/v1/chat/completions}") String localUrl,
+                          @Value("${studybuddy.ai.local.model:local-stub}") String localModel,
+                          @Value("${studybuddy.ai.router.window-samples:100}") int windowSamples,
+                          @Value("${studybuddy.ai.router.window-minutes:10}") long windowMinutes,
+                          @Value("${studybuddy.ai.router.min-samples:5}") int minSamples,
+                          @Value("${studybuddy.ai.router.max-error-rate:0.5}") double maxErrorRate,
+                          @Value("${studybuddy.ai.router.hedging.enabled:true}") boolean hedgingEnabled,
+                          @Value("${studybuddy.ai.router.hedging.min-delay-ms:2000}") long hedgeMinDelayMs,
+                          @Value("${studybuddy.ai.router.hedging.max-delay-ms:60000}") long hedgeMaxDelayMs) {
+        this.openRouterModels = Arrays.stream(openRouterModels.split(","))
+                .map(String::trim)
+                .filter(model -> !model.isEmpty())
+                .toList();
+        this.localEnabled = localEnabled;
+        this.localUrl = localUrl;
+        this.localModel = localModel;
+        this.windowSamples = windowSamples;
+        this.windowAge = Duration.ofMinutes(windowMinutes);
+        this.minSamples = minSamples;
+        this.maxErrorRate = maxErrorRate;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeMinDelay = Duration.ofMillis(hedgeMinDelayMs);
+        this.hedgeMaxDelay = Duration.ofMillis(hedgeMaxDelayMs);
+    }
+
+    public List<String> getOpenRouterModels() {
+        return openRouterModels;
+    }
+
+    public boolean isLocalEnabled() {
+        return localEnabled;
+    }
+
+    public String getLocalUrl() {
+        return localUrl;
+    }
+
+    public String getLocalModel() {
+        return localModel;
+    }
+
+    public int getWindowSamples() {
+        return windowSamples;
+    }
+
+    public Duration getWindowAge() {
+        return windowAge;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    public Duration getHedgeMinDelay() {
+        return hedgeMinDelay;
+    }
+
+    public Duration getHedgeMaxDelay() {
+        return hedgeMaxDelay;
+    }
+}
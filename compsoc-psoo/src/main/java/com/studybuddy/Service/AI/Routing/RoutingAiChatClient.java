@@ -0,0 +1,265 @@
+package com.studybuddy.Service.AI.Routing;
+
+import com.studybuddy.Exception.AiProviderException;
+import com.studybuddy.Service.AI.AiChatClient;
+import com.studybuddy.Service.AI.AiRequest;
+import com.studybuddy.Service.AI.AiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Escolhe, para cada tipo de geração ({@link AiRequest#getPurpose()}), o backend saudável
+ * com menor p50 recente. Backends ainda sem amostras suficientes são experimentados primeiro,
+ * na ordem configurada. Requisições sem streaming que passam do p95 do backend escolhido
+ * disparam uma segunda chamada (hedge) no próximo da lista; a primeira resposta vale.
+ * Se o escolhido falhar antes disso, o próximo é chamado na hora.
+ */
+public class RoutingAiChatClient implements AiChatClient {
+    private static final Logger log = LoggerFactory.getLogger(RoutingAiChatClient.class);
+
+    private final List<AiBackend> backends;
+    private final RouterSettings settings;
+
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong failovers = new AtomicLong();
+
+    public RoutingAiChatClient(List<AiBackend> backends, RouterSettings settings) {
+        if (backends.isEmpty()) {
+            throw new IllegalArgumentException("At least one AI backend is required");
+        }
+        this.backends = List.copyOf(backends);
+        this.settings = settings;
+    }
+
+    @Override
+    public CompletableFuture<AiResponse> sendRequestAsync(AiRequest request) {
+        List<AiBackend> ranked = rank(request.getPurpose());
+        return new Race(request, ranked.get(0), ranked.size() > 1 ? ranked.get(1) : null).start();
+    }
+
+    /**
+     * Sem hedge: dois streams não podem ser misturados. Se o backend falhar antes de
+     * entregar qualquer trecho, tenta o próximo.
+     */
+    @Override
+    public CompletableFuture<AiResponse> streamRequest(AiRequest request, Consumer<String> onDelta) {
+        List<AiBackend> ranked = rank(request.getPurpose());
+        AtomicBoolean delivered = new AtomicBoolean();
+        Consumer<String> tracking = delta -> {
+            delivered.set(true);
+            onDelta.accept(delta);
+        };
+
+        CompletableFuture<AiResponse> first = call(ranked.get(0), request, backend -> backend.getClient()
+                .streamRequest(request.withModel(backend.getModel()), tracking));
+        if (ranked.size() == 1) {
+            return first;
+        }
+        return first.handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    if (delivered.get()) {
+                        return CompletableFuture.<AiResponse>failedFuture(unwrap(error));
+                    }
+                    failovers.incrementAndGet();
+                    log.warn("Streaming on {} failed, falling back to {}: {}", ranked.get(0).getName(), ranked.get(1).getName(), unwrap(error).getMessage());
+                    return call(ranked.get(1), request, backend -> backend.getClient()
+                            .streamRequest(request.withModel(backend.getModel()), tracking));
+                })
+                .thenCompose(future -> future);
+    }
+
+    @Override
+    public void evict(AiRequest request) {
+        backends.forEach(backend -> backend.getClient().evict(request.withModel(backend.getModel())));
+    }
+
+    public Stats stats() {
+        List<BackendStats> perBackend = backends.stream().map(backend -> {
+            LatencyWindow.Snapshot snapshot = backend.overall();
+            return new BackendStats(backend.getName(), snapshot.samples(), snapshot.errorRate(),
+                    TimeUnit.NANOSECONDS.toMillis(snapshot.p50Nanos()), TimeUnit.NANOSECONDS.toMillis(snapshot.p95Nanos()));
+        }).toList();
+        return new Stats(perBackend, hedges.get(), hedgeWins.get(), failovers.get());
+    }
+
+    public record Stats(List<BackendStats> backends, long hedges, long hedgeWins, long failovers) {
+    }
+
+    /**
+     * Latências em ms; -1 quando ainda não há chamadas bem-sucedidas na janela.
+     */
+    public record BackendStats(String name, int samples, double errorRate, long p50Millis, long p95Millis) {
+    }
+
+    /**
+     * Saudáveis antes dos degradados; entre os saudáveis, os ainda sem amostras suficientes
+     * vêm primeiro (para medi-los) e os demais por p50 crescente.
+     */
+    List<AiBackend> rank(String purpose) {
+        List<AiBackend> ranked = new ArrayList<>(backends);
+        ranked.sort(Comparator
+                .comparing((AiBackend backend) -> isDegraded(backend.snapshot(purpose)))
+                .thenComparing(backend -> backend.snapshot(purpose).samples() >= settings.getMinSamples())
+                .thenComparingLong(backend -> latencyScore(backend.snapshot(purpose))));
+        if (log.isDebugEnabled()) {
+            log.debug("Routing {} to {}", purpose, ranked.stream().map(AiBackend::getName).toList());
+        }
+        return ranked;
+    }
+
+    private boolean isDegraded(LatencyWindow.Snapshot snapshot) {
+        return snapshot.samples() >= settings.getMinSamples() && snapshot.errorRate() > settings.getMaxErrorRate();
+    }
+
+    private long latencyScore(LatencyWindow.Snapshot snapshot) {
+        return snapshot.hasLatency() && snapshot.samples() >= settings.getMinSamples() ? snapshot.p50Nanos() : 0;
+    }
+
+    private long hedgeDelayMillis(AiBackend backend, String purpose) {
+        LatencyWindow.Snapshot snapshot = backend.snapshot(purpose);
+        long min = settings.getHedgeMinDelay().toMillis();
+        long max = settings.getHedgeMaxDelay().toMillis();
+        if (!snapshot.hasLatency() || snapshot.samples() < settings.getMinSamples()) {
+            return max;
+        }
+        return Math.max(min, Math.min(max, TimeUnit.NANOSECONDS.toMillis(snapshot.p95Nanos())));
+    }
+
+    private CompletableFuture<AiResponse> call(AiBackend backend, AiRequest request,
+                                               Function<AiBackend, CompletableFuture<AiResponse>> invoke) {
+        long start = System.nanoTime();
+        CompletableFuture<AiResponse> response;
+        try {
+            response = invoke.apply(backend);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        // devolve o próprio future da chamada, para que cancelá-lo chegue ao backend
+        response.whenComplete((result, error) -> {
+            // o perdedor de um hedge é cancelado, o que não diz nada sobre a saúde do backend
+            if (!(unwrap(error) instanceof CancellationException)) {
+                backend.record(request.getPurpose(), System.nanoTime() - start, error == null);
+            }
+        });
+        return response;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Uma requisição sem streaming: o backend principal e, se ele demorar além do p95 ou
+     * falhar, o secundário. O resultado é a primeira resposta bem-sucedida, e a outra chamada
+     * é cancelada para devolver a permissão do modelo; só falha se todas as chamadas
+     * disparadas falharem, com o erro da primeira.
+     */
+    private final class Race {
+        private final AiRequest request;
+        private final AiBackend primary;
+        private final AiBackend secondary;
+        private final CompletableFuture<AiResponse> result = new CompletableFuture<>();
+        private final AtomicInteger outstanding = new AtomicInteger(1);
+        private final AtomicBoolean secondaryLaunched;
+        private volatile boolean hedged;
+        private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+        private volatile CompletableFuture<AiResponse> primaryCall;
+        private volatile CompletableFuture<AiResponse> secondaryCall;
+
+        private Race(AiRequest request, AiBackend primary, AiBackend secondary) {
+            this.request = request;
+            this.primary = primary;
+            this.secondary = secondary;
+            this.secondaryLaunched = new AtomicBoolean(secondary == null);
+        }
+
+        private CompletableFuture<AiResponse> start() {
+            launch(primary);
+            if (secondary != null && settings.isHedgingEnabled()) {
+                long delay = hedgeDelayMillis(primary, request.getPurpose());
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+                    if (!result.isDone() && launchSecondary()) {
+                        hedged = true;
+                        hedges.incrementAndGet();
+                        log.info("{} slower than {}ms for {}, hedging on {}", primary.getName(), delay, request.getPurpose(), secondary.getName());
+                    }
+                });
+            }
+            return result;
+        }
+
+        private boolean launchSecondary() {
+            if (!secondaryLaunched.compareAndSet(false, true)) {
+                return false;
+            }
+            outstanding.incrementAndGet();
+            launch(secondary);
+            return true;
+        }
+
+        private void launch(AiBackend backend) {
+            CompletableFuture<AiResponse> pending =
+                    call(backend, request, target -> target.getClient().sendRequestAsync(request.withModel(target.getModel())));
+            if (backend == primary) {
+                primaryCall = pending;
+            } else {
+                secondaryCall = pending;
+            }
+            // a corrida pode ter terminado enquanto esta chamada era disparada
+            if (result.isDone()) {
+                pending.cancel(true);
+            }
+
+            pending.whenComplete((response, error) -> {
+                if (error == null) {
+                    if (result.complete(response)) {
+                        cancelOther(backend);
+                        if (backend == secondary && hedged) {
+                            hedgeWins.incrementAndGet();
+                        }
+                    }
+                    return;
+                }
+                Throwable cause = unwrap(error);
+                firstError.compareAndSet(null, cause);
+                if (backend == primary && !result.isDone() && launchSecondary()) {
+                    failovers.incrementAndGet();
+                    log.warn("{} failed for {}, failing over to {}: {}", primary.getName(), request.getPurpose(), secondary.getName(), cause.getMessage());
+                } else {
+                    // impede que o hedge agendado dispare depois que tudo já falhou
+                    secondaryLaunched.set(true);
+                }
+                if (outstanding.decrementAndGet() == 0) {
+                    Throwable reported = firstError.get();
+                    result.completeExceptionally(reported instanceof AiProviderException
+                            ? reported
+                            : new AiProviderException("All AI backends failed", reported));
+                }
+            });
+        }
+
+        private void cancelOther(AiBackend winner) {
+            CompletableFuture<AiResponse> loser = winner == primary ? secondaryCall : primaryCall;
+            if (loser != null && loser.cancel(true)) {
+                log.debug("Cancelled the slower call for {}", request.getPurpose());
+            }
+        }
+    }
+}
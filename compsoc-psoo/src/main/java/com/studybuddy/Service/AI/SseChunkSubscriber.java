@@ -0,0 +1,94 @@
+package com.studybuddy.Service.AI;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Consome as linhas de uma resposta SSE no formato da API de chat completions
+ * ({@code data: {...}} até {@code data: [DONE]}), repassando cada trecho de
+ * {@code choices[0].delta.content} assim que chega.
+ */
+class SseChunkSubscriber implements Flow.Subscriber<String> {
+    private static final Logger log = LoggerFactory.getLogger(SseChunkSubscriber.class);
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE = "[DONE]";
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<String> onDelta;
+    private final StringBuilder content = new StringBuilder();
+    private final StringBuilder reasoning = new StringBuilder();
+    private volatile String error;
+
+    SseChunkSubscriber(ObjectMapper objectMapper, Consumer<String> onDelta) {
+        this.objectMapper = objectMapper;
+        this.onDelta = onDelta;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(String line) {
+        // linhas em branco separam eventos; linhas com ':' são comentários de keep-alive
+        if (error != null || !line.startsWith(DATA_PREFIX)) {
+            return;
+        }
+
+        String data = line.substring(DATA_PREFIX.length()).trim();
+        if (data.isEmpty() || DONE.equals(data)) {
+            return;
+        }
+
+        JsonNode chunk;
+        try {
+            chunk = objectMapper.readTree(data);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed SSE chunk: {}", data);
+            return;
+        }
+
+        if (chunk.has("error")) {
+            error = chunk.path("error").path("message").asText(chunk.path("error").toString());
+            return;
+        }
+
+        JsonNode delta = chunk.path("choices").path(0).path("delta");
+        reasoning.append(delta.path("reasoning").asText(""));
+
+        String text = delta.path("content").asText("");
+        if (text.isEmpty()) {
+            return;
+        }
+        content.append(text);
+        try {
+            onDelta.accept(text);
+        } catch (RuntimeException e) {
+            log.warn("Stream consumer failed, continuing to collect the response", e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        // o erro chega pelo future do HttpClient
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    String getError() {
+        return error;
+    }
+
+    String getContent() {
+        return content.length() > 0 ? content.toString() : reasoning.toString();
+    }
+}
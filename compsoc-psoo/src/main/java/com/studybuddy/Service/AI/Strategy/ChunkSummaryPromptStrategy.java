@@ -0,0 +1,49 @@
+package com.studybuddy.Service.AI.Strategy;
+
+import com.studybuddy.Service.AI.Strategy.PackedDocuments.PackedDocument;
+import org.springframework.stereotype.Component;
+
+/**
+ * Etapa "map" da geração em map-reduce: resume um bloco do material em notas densas
+ * que depois substituem o texto original no prompt final.
+ */
+@Component
+public class ChunkSummaryPromptStrategy implements PromptStrategy {
+    private final PromptPacker promptPacker;
+
+    public ChunkSummaryPromptStrategy(PromptPacker promptPacker) {
+        this.promptPacker = promptPacker;
+    }
+
+    @Override
+    public String buildPrompt(PromptContext context) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Você receberá um trecho do material de estudo abaixo. ");
+        sb.append("Sua tarefa: escrever notas de estudo densas em MARKDOWN que preservem todo o conteúdo relevante do trecho: ");
+        sb.append("conceitos, definições, fórmulas, exemplos, datas e relações entre os tópicos. ");
+        sb.append("Use listas curtas agrupadas por assunto, sem introdução e sem conclusão. ");
+        sb.append("Não invente nada que não esteja no trecho. ");
+        sb.append("Use português brasileiro.\n");
+
+        if (context.getExistingIndicators() != null && !context.getExistingIndicators().isEmpty()) {
+            sb.append("Dê prioridade ao que se relaciona com estes tópicos: ").append(context.getExistingIndicators()).append("\n");
+        } else if (context.hasIndicatorText()) {
+            sb.append("Dê prioridade ao que se relaciona com este indicador:\n").append(context.getIndicatorText()).append("\n");
+        }
+
+        sb.append("\nTrecho:\n");
+
+        PackedDocuments packed = promptPacker.pack(context, TokenEstimator.estimate(sb));
+
+        for (PackedDocument document : packed.getDocuments()) {
+            sb.append("=== FILE: ").append(document.filename()).append(" ===\n");
+            sb.append(document.text());
+            if (document.truncated()) {
+                sb.append(" [TRUNCADO]");
+            }
+            sb.append("\n---\n");
+        }
+
+        return sb.toString();
+    }
+}
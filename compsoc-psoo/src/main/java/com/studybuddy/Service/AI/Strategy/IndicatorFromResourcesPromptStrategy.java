@@ -1,13 +1,15 @@
 package com.studybuddy.Service.AI.Strategy;
 
+import com.studybuddy.Service.AI.Strategy.PackedDocuments.PackedDocument;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Component
 public class IndicatorFromResourcesPromptStrategy implements PromptStrategy {
-    private static final int PER_RESOURCE_CHAR_LIMIT = 4500;
-    private static final int MAX_RESOURCES = 8;
+    private final PromptPacker promptPacker;
+
+    public IndicatorFromResourcesPromptStrategy(PromptPacker promptPacker) {
+        this.promptPacker = promptPacker;
+    }
 
     @Override
     public String buildPrompt(PromptContext context) {
@@ -20,17 +22,15 @@ public class IndicatorFromResourcesPromptStrategy implements PromptStrategy {
         sb.append("Todos os tópicos devem estar em português brasileiro. ");
         sb.append("\n\nRecursos:\n");
 
-        List<String> resources = context.getResourceContents();
-        int limit = Math.min(resources.size(), MAX_RESOURCES);
-        
-        for (int i = 0; i < limit; i++) {
-            String text = resources.get(i);
-            if (text == null) continue;
-            
-            if (text.length() > PER_RESOURCE_CHAR_LIMIT) {
-                text = text.substring(0, PER_RESOURCE_CHAR_LIMIT) + " [TRUNCADO]";
+        PackedDocuments packed = promptPacker.pack(context, TokenEstimator.estimate(sb));
+
+        for (PackedDocument document : packed.getDocuments()) {
+            sb.append("=== FILE: ").append(document.filename()).append(" ===\n");
+            sb.append(document.text());
+            if (document.truncated()) {
+                sb.append(" [TRUNCADO]");
             }
-            sb.append(text).append("\n---\n");
+            sb.append("\n---\n");
         }
         
         return sb.toString();
@@ -0,0 +1,48 @@
+package com.studybuddy.Service.AI.Strategy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Janela de contexto por modelo e teto de tokens de entrada por requisição.
+ * Modelos não listados em {@code studybuddy.ai.context-tokens.models} usam o padrão.
+ */
+@Component
+public class ModelContextBudgets {
+    private final int defaultContextTokens;
+    private final int maxInputTokens;
+    private final Map<String, Integer> contextTokensByModel = new HashMap<>();
+
+    public ModelContextBudgets(@Value("${studybuddy.ai.context-tokens.default:32768}") int defaultContextTokens,
+                               @Value("${studybuddy.ai.context-tokens.models:}") String models,
+                               @Value("${studybuddy.ai.prompt.max-input-tokens:24000}") int maxInputTokens) {
+        this.defaultContextTokens = defaultContextTokens;
+        this.maxInputTokens = maxInputTokens;
+        // formato: modelo=tokens,modelo=tokens (o nome do modelo pode ter ':' e '/')
+        for (String entry : models.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (!StringUtils.hasText(entry) || separator <= 0) {
+                continue;
+            }
+            contextTokensByModel.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+    }
+
+    public int contextTokens(String model) {
+        return model == null ? defaultContextTokens : contextTokensByModel.getOrDefault(model, defaultContextTokens);
+    }
+
+    /**
+     * Tokens disponíveis para o prompt inteiro: a janela do modelo menos a resposta
+     * esperada e uma margem para o erro da estimativa, limitado pelo teto de entrada.
+     */
+    public int inputTokens(String model, int maxOutputTokens) {
+        int window = contextTokens(model) - maxOutputTokens;
+        int withMargin = window - window / 20;
+        return Math.max(0, Math.min(withMargin, maxInputTokens));
+    }
+}
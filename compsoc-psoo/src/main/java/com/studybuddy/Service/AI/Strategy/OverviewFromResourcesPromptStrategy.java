@@ -1,16 +1,26 @@
 package com.studybuddy.Service.AI.Strategy;
 
+import com.studybuddy.Service.AI.Strategy.PackedDocuments.PackedDocument;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
 @Component
 public class OverviewFromResourcesPromptStrategy implements PromptStrategy {
-    private static final int PER_RESOURCE_CHAR_LIMIT = 4500;
-    private static final int MAX_RESOURCES = 8;
     private static final int MAX_SECTIONS = 6;
     private static final int MAX_WORDS_APPROX = 1600;
 
+    private static final String FINAL_INSTRUCTIONS = "Instruções finais (muito importantes):\n"
+            + "- **RETORNE SOMENTE** o Markdown do overview. Nada além disso.\n"
+            + "- O Markdown será convertido para PDF; use títulos e estrutura, evite HTML bruto.\n"
+            + "- Se houver incerteza, prefira resumir o conteúdo principal e indicar lacunas de informação dentro do texto (breve).\n";
+
+    private final PromptPacker promptPacker;
+
+    public OverviewFromResourcesPromptStrategy(PromptPacker promptPacker) {
+        this.promptPacker = promptPacker;
+    }
+
     @Override
     public String buildPrompt(PromptContext context) {
         StringBuilder sb = new StringBuilder();
@@ -41,27 +51,23 @@ public class OverviewFromResourcesPromptStrategy implements PromptStrategy {
 
         sb.append("Recursos (use o conteúdo abaixo para compor o overview):\n\n");
 
-        List<String> resources = context.getResourceContents();
-        int limit = resources == null ? 0 : Math.min(resources.size(), MAX_RESOURCES);
+        PackedDocuments packed = promptPacker.pack(context, TokenEstimator.estimate(sb) + TokenEstimator.estimate(FINAL_INSTRUCTIONS));
+        List<PackedDocument> documents = packed.getDocuments();
 
-        for (int i = 0; i < limit; i++) {
-            String text = resources.get(i);
-            if (text == null) continue;
+        for (int i = 0; i < documents.size(); i++) {
+            PackedDocument document = documents.get(i);
 
-            if (text.length() > PER_RESOURCE_CHAR_LIMIT) {
-                text = text.substring(0, PER_RESOURCE_CHAR_LIMIT) + " [TRUNCADO]";
-            }
-
-            sb.append("### Recurso ").append(i + 1).append("\n");
+            sb.append("### Recurso ").append(i + 1).append(": ").append(document.filename()).append("\n");
             sb.append("```\n");
-            sb.append(text).append("\n");
+            sb.append(document.text());
+            if (document.truncated()) {
+                sb.append(" [TRUNCADO]");
+            }
+            sb.append("\n");
             sb.append("```\n\n");
         }
 
-        sb.append("Instruções finais (muito importantes):\n");
-        sb.append("- **RETORNE SOMENTE** o Markdown do overview. Nada além disso.\n");
-        sb.append("- O Markdown será convertido para PDF; use títulos e estrutura, evite HTML bruto.\n");
-        sb.append("- Se houver incerteza, prefira resumir o conteúdo principal e indicar lacunas de informação dentro do texto (breve).\n");
+        sb.append(FINAL_INSTRUCTIONS);
 
         return sb.toString();
     }
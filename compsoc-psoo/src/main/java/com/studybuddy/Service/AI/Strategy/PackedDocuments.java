@@ -0,0 +1,52 @@
+package com.studybuddy.Service.AI.Strategy;
+
+import java.util.List;
+
+/**
+ * Resultado do {@link PromptPacker}: o trecho escolhido de cada documento, na ordem
+ * original, e o relatório do que entrou no prompt.
+ */
+public class PackedDocuments {
+    private final List<PackedDocument> documents;
+    private final int budgetTokens;
+    private final int skippedDocuments;
+
+    PackedDocuments(List<PackedDocument> documents, int budgetTokens, int skippedDocuments) {
+        this.documents = documents;
+        this.budgetTokens = budgetTokens;
+        this.skippedDocuments = skippedDocuments;
+    }
+
+    public List<PackedDocument> getDocuments() {
+        return documents;
+    }
+
+    public int getBudgetTokens() {
+        return budgetTokens;
+    }
+
+    /**
+     * Documentos com texto que não couberam nem com um parágrafo.
+     */
+    public int getSkippedDocuments() {
+        return skippedDocuments;
+    }
+
+    public int getUsedTokens() {
+        return documents.stream().mapToInt(PackedDocument::tokens).sum();
+    }
+
+    public int getOriginalTokens() {
+        return documents.stream().mapToInt(PackedDocument::originalTokens).sum();
+    }
+
+    public String summary() {
+        long truncated = documents.stream().filter(PackedDocument::truncated).count();
+        return String.format("%d documents (%d truncated, %d skipped), %d/%d tokens within budget %d",
+                documents.size(), truncated, skippedDocuments, getUsedTokens(), getOriginalTokens(), budgetTokens);
+    }
+
+    public record PackedDocument(String filename, String text, int tokens, int originalTokens,
+                                 int paragraphs, int totalParagraphs, boolean truncated) {
+    }
+}
@@ -1,36 +1,77 @@
 package com.studybuddy.Service.AI.Strategy;
 
+import com.studybuddy.Service.Extractor.ExtractedDocument;
+
 import java.util.List;
 
 public class PromptContext {
     private final String indicatorText;
-    private final List<String> resourceContents;
+    private final List<ExtractedDocument> documents;
     private final List<String> existingIndicators;
+    private final String model;
+    private final int maxOutputTokens;
 
     private PromptContext(Builder builder) {
         this.indicatorText = builder.indicatorText;
-        this.resourceContents = builder.resourceContents;
+        this.documents = builder.documents;
         this.existingIndicators = builder.existingIndicators;
+        this.model = builder.model;
+        this.maxOutputTokens = builder.maxOutputTokens;
+    }
+
+    /**
+     * Cópia com o modelo e o limite de resposta da geração, usados para calcular
+     * quanto do contexto cabe no prompt.
+     */
+    public PromptContext withGenerationLimits(String model, int maxOutputTokens) {
+        return builder()
+                .indicatorText(indicatorText)
+                .documents(documents)
+                .existingIndicators(existingIndicators)
+                .model(model)
+                .maxOutputTokens(maxOutputTokens)
+                .build();
+    }
+
+    /**
+     * Cópia com outros documentos, mantendo indicador, modelo e limites.
+     */
+    public PromptContext withDocuments(List<ExtractedDocument> documents) {
+        return builder()
+                .indicatorText(indicatorText)
+                .documents(documents)
+                .existingIndicators(existingIndicators)
+                .model(model)
+                .maxOutputTokens(maxOutputTokens)
+                .build();
     }
 
     public String getIndicatorText() {
         return indicatorText;
     }
 
-    public List<String> getResourceContents() {
-        return resourceContents;
+    public List<ExtractedDocument> getDocuments() {
+        return documents;
     }
 
     public List<String> getExistingIndicators() {
         return existingIndicators;
     }
 
+    public String getModel() {
+        return model;
+    }
+
+    public int getMaxOutputTokens() {
+        return maxOutputTokens;
+    }
+
     public boolean hasIndicatorText() {
         return indicatorText != null && !indicatorText.isBlank();
     }
 
     public boolean hasResources() {
-        return resourceContents != null && !resourceContents.isEmpty();
+        return documents != null && documents.stream().anyMatch(ExtractedDocument::hasText);
     }
 
     public static Builder builder() {
@@ -39,16 +80,18 @@ public class PromptContext {
 
     public static class Builder {
         private String indicatorText;
-        private List<String> resourceContents;
+        private List<ExtractedDocument> documents;
         private List<String> existingIndicators;
+        private String model;
+        private int maxOutputTokens;
 
         public Builder indicatorText(String indicatorText) {
             this.indicatorText = indicatorText;
             return this;
         }
 
-        public Builder resourceContents(List<String> resourceContents) {
-            this.resourceContents = resourceContents;
+        public Builder documents(List<ExtractedDocument> documents) {
+            this.documents = documents;
             return this;
         }
 
@@ -57,6 +100,16 @@ public class PromptContext {
             return this;
         }
 
+        public Builder model(String model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder maxOutputTokens(int maxOutputTokens) {
+            this.maxOutputTokens = maxOutputTokens;
+            return this;
+        }
+
         public PromptContext build() {
             return new PromptContext(this);
         }
@@ -0,0 +1,234 @@
+package com.studybuddy.Service.AI.Strategy;
+
+import com.studybuddy.Service.AI.Strategy.PackedDocuments.PackedDocument;
+import com.studybuddy.Service.Extractor.ExtractedDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Distribui o orçamento de tokens do modelo entre todos os documentos do studyflow.
+ * Documentos menores entram inteiros e o que sobra é dividido igualmente entre os
+ * maiores; cada trecho é cortado em fim de parágrafo (ou de frase, se nem um parágrafo couber).
+ */
+@Component
+public class PromptPacker {
+    private static final Logger log = LoggerFactory.getLogger(PromptPacker.class);
+
+    /** cabeçalho com o nome do arquivo, separadores e marcador de corte */
+    static final int DOCUMENT_OVERHEAD_TOKENS = 24;
+    private static final int MIN_DOCUMENT_TOKENS = 64;
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final Pattern SENTENCE_END = Pattern.compile("[.!?;:](\\s|$)");
+    private static final String PARAGRAPH_SEPARATOR = "\n\n";
+
+    private final ModelContextBudgets modelContextBudgets;
+
+    public PromptPacker(ModelContextBudgets modelContextBudgets) {
+        this.modelContextBudgets = modelContextBudgets;
+    }
+
+    /**
+     * Empacota os documentos do contexto no que sobra da janela do modelo depois do
+     * texto fixo do prompt ({@code fixedPromptTokens}) e da resposta esperada.
+     */
+    public PackedDocuments pack(PromptContext context, int fixedPromptTokens) {
+        int budget = modelContextBudgets.inputTokens(context.getModel(), context.getMaxOutputTokens()) - fixedPromptTokens;
+        PackedDocuments packed = pack(context.getDocuments() == null ? List.of() : context.getDocuments(), budget);
+        log.info("Packed prompt for model {}: {}", context.getModel(), packed.summary());
+        return packed;
+    }
+
+    /**
+     * Indica se todos os documentos cabem inteiros no prompt sem corte.
+     */
+    public boolean fits(PromptContext context, int fixedPromptTokens) {
+        int budget = modelContextBudgets.inputTokens(context.getModel(), context.getMaxOutputTokens()) - fixedPromptTokens;
+        int needed = context.getDocuments() == null ? 0 : context.getDocuments().stream()
+                .filter(ExtractedDocument::hasText)
+                .mapToInt(document -> TokenEstimator.estimate(document.getText()) + DOCUMENT_OVERHEAD_TOKENS)
+                .sum();
+        return needed <= budget;
+    }
+
+    /**
+     * Divide os documentos em blocos de até {@code chunkTokens}, na ordem original e em fim
+     * de parágrafo. Documentos pequenos consecutivos dividem o mesmo bloco; os grandes viram
+     * várias partes, com o nome do arquivo seguido de "(parte i)".
+     */
+    public List<List<ExtractedDocument>> chunk(List<ExtractedDocument> documents, int chunkTokens) {
+        int maxChars = TokenEstimator.toChars(Math.max(MIN_DOCUMENT_TOKENS, chunkTokens - DOCUMENT_OVERHEAD_TOKENS));
+        List<List<ExtractedDocument>> chunks = new ArrayList<>();
+        List<ExtractedDocument> current = new ArrayList<>();
+        int currentTokens = 0;
+
+        for (ExtractedDocument document : documents) {
+            if (!document.hasText()) {
+                continue;
+            }
+            List<String> parts = splitAtParagraphs(document.getText().strip(), maxChars);
+            for (int i = 0; i < parts.size(); i++) {
+                String filename = parts.size() == 1 ? document.getFilename() : document.getFilename() + " (parte " + (i + 1) + ")";
+                int tokens = TokenEstimator.estimate(parts.get(i)) + DOCUMENT_OVERHEAD_TOKENS;
+                if (!current.isEmpty() && currentTokens + tokens > chunkTokens) {
+                    chunks.add(current);
+                    current = new ArrayList<>();
+                    currentTokens = 0;
+                }
+                current.add(ExtractedDocument.parsed(document.getResourceId(), filename, document.getMimeType(), parts.get(i), Integer.MAX_VALUE));
+                currentTokens += tokens;
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private List<String> splitAtParagraphs(String text, int maxChars) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        for (String paragraph : PARAGRAPH_BREAK.split(text)) {
+            String remaining = paragraph.strip();
+            while (remaining.length() > maxChars) {
+                // parágrafo maior que um bloco inteiro: fecha o bloco atual e corta por frase
+                if (sb.length() > 0) {
+                    parts.add(sb.toString());
+                    sb.setLength(0);
+                }
+                String cut = cutAtSentence(remaining, maxChars);
+                if (cut.isEmpty()) {
+                    cut = remaining.substring(0, maxChars);
+                }
+                parts.add(cut);
+                remaining = remaining.substring(cut.length()).strip();
+            }
+            if (remaining.isEmpty()) {
+                continue;
+            }
+            if (sb.length() > 0 && sb.length() + PARAGRAPH_SEPARATOR.length() + remaining.length() > maxChars) {
+                parts.add(sb.toString());
+                sb.setLength(0);
+            }
+            if (sb.length() > 0) {
+                sb.append(PARAGRAPH_SEPARATOR);
+            }
+            sb.append(remaining);
+        }
+        if (sb.length() > 0) {
+            parts.add(sb.toString());
+        }
+        return parts;
+    }
+
+    public PackedDocuments pack(List<ExtractedDocument> documents, int budgetTokens) {
+        List<ExtractedDocument> withText = documents.stream()
+                .filter(ExtractedDocument::hasText)
+                .toList();
+        int count = withText.size();
+        int[] needed = withText.stream().mapToInt(document -> TokenEstimator.estimate(document.getText())).toArray();
+
+        Integer[] smallestFirst = new Integer[count];
+        Arrays.setAll(smallestFirst, i -> i);
+        Arrays.sort(smallestFirst, Comparator.comparingInt(i -> needed[i]));
+
+        PackedDocument[] packed = new PackedDocument[count];
+        int remaining = Math.max(0, budgetTokens);
+        int skipped = 0;
+        for (int k = 0; k < count; k++) {
+            int index = smallestFirst[k];
+            // o que um documento não usa da sua parte fica para os maiores que vêm depois;
+            // com orçamento apertado, os menores ainda recebem um trecho mínimo enquanto houver espaço
+            int fairShare = remaining / (count - k) - DOCUMENT_OVERHEAD_TOKENS;
+            int share = Math.max(fairShare, Math.min(MIN_DOCUMENT_TOKENS, remaining - DOCUMENT_OVERHEAD_TOKENS));
+            PackedDocument document = share >= needed[index] || share >= MIN_DOCUMENT_TOKENS
+                    ? packDocument(withText.get(index), needed[index], share)
+                    : null;
+            if (document == null) {
+                skipped++;
+                log.debug("Skipped {}: no room left in a {} token budget", withText.get(index).getFilename(), budgetTokens);
+                continue;
+            }
+            packed[index] = document;
+            remaining -= document.tokens() + DOCUMENT_OVERHEAD_TOKENS;
+            log.debug("Packed {}: {}/{} paragraphs, {}/{} tokens", document.filename(),
+                    document.paragraphs(), document.totalParagraphs(), document.tokens(), document.originalTokens());
+        }
+
+        List<PackedDocument> inOrder = Arrays.stream(packed).filter(Objects::nonNull).toList();
+        return new PackedDocuments(inOrder, Math.max(0, budgetTokens), skipped);
+    }
+
+    private PackedDocument packDocument(ExtractedDocument document, int neededTokens, int shareTokens) {
+        String text = document.getText().strip();
+        String[] paragraphs = Arrays.stream(PARAGRAPH_BREAK.split(text))
+                .map(String::strip)
+                .filter(paragraph -> !paragraph.isEmpty())
+                .toArray(String[]::new);
+        boolean cutAtExtraction = document.getStatus() == ExtractedDocument.ParseStatus.TRUNCATED;
+
+        if (neededTokens <= shareTokens) {
+            return new PackedDocument(document.getFilename(), text, neededTokens, neededTokens,
+                    paragraphs.length, paragraphs.length, cutAtExtraction);
+        }
+
+        int maxChars = TokenEstimator.toChars(shareTokens);
+        StringBuilder sb = new StringBuilder();
+        int included = 0;
+        for (String paragraph : paragraphs) {
+            int length = sb.length() + (sb.length() == 0 ? 0 : PARAGRAPH_SEPARATOR.length()) + paragraph.length();
+            if (length > maxChars) {
+                break;
+            }
+            if (sb.length() > 0) {
+                sb.append(PARAGRAPH_SEPARATOR);
+            }
+            sb.append(paragraph);
+            included++;
+        }
+
+        if (included == 0) {
+            String cut = cutAtSentence(paragraphs[0], maxChars);
+            if (cut.isEmpty()) {
+                return null;
+            }
+            sb.append(cut);
+        }
+
+        String packedText = sb.toString();
+        boolean truncated = cutAtExtraction || included < paragraphs.length;
+        return new PackedDocument(document.getFilename(), packedText, TokenEstimator.estimate(packedText), neededTokens,
+                included, paragraphs.length, truncated);
+    }
+
+    /**
+     * Corta no último fim de frase antes do limite; sem um que preserve ao menos metade
+     * do trecho, corta no último espaço.
+     */
+    private String cutAtSentence(String paragraph, int maxChars) {
+        if (paragraph.length() <= maxChars) {
+            return paragraph;
+        }
+        String prefix = paragraph.substring(0, maxChars);
+
+        int sentenceEnd = -1;
+        Matcher matcher = SENTENCE_END.matcher(prefix);
+        while (matcher.find()) {
+            sentenceEnd = matcher.start() + 1;
+        }
+        if (sentenceEnd >= maxChars / 2) {
+            return prefix.substring(0, sentenceEnd);
+        }
+
+        int space = prefix.lastIndexOf(' ');
+        return (space > 0 ? prefix.substring(0, space) : prefix).strip();
+    }
+}
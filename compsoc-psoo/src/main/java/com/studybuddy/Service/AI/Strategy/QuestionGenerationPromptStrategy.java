@@ -1,20 +1,24 @@
 package com.studybuddy.Service.AI.Strategy;
 
+import com.studybuddy.Service.AI.Strategy.PackedDocuments.PackedDocument;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
 @Component
 public class QuestionGenerationPromptStrategy implements PromptStrategy {
-    private static final int PER_RESOURCE_CHAR_LIMIT = 10000;
-    private static final int MAX_RESOURCES = 6;
+    private final PromptPacker promptPacker;
+
+    public QuestionGenerationPromptStrategy(PromptPacker promptPacker) {
+        this.promptPacker = promptPacker;
+    }
 
     @Override
     public String buildPrompt(PromptContext context) {
-        String instruction = buildInstructionText(context.getExistingIndicators());
-        String userContent = buildUserContent(context);
+        String instruction = "INSTRUCTION:\n" + buildInstructionText(context.getExistingIndicators()) + "\n\nCONTEXT:\n";
+        String userContent = buildUserContent(context, TokenEstimator.estimate(instruction));
         
-        return "INSTRUCTION:\n" + instruction + "\n\nCONTEXT:\n" + userContent;
+        return instruction + userContent;
     }
 
     private String buildInstructionText(List<String> indicators) {
@@ -52,21 +56,19 @@ public class QuestionGenerationPromptStrategy implements PromptStrategy {
         return sb.toString();
     }
 
-    private String buildUserContent(PromptContext context) {
+    private String buildUserContent(PromptContext context, int instructionTokens) {
         StringBuilder sb = new StringBuilder();
         sb.append("Indicator:\n").append(context.getExistingIndicators()).append("\n\nResources:\n");
-        
-        List<String> resources = context.getResourceContents();
-        int limit = Math.min(resources.size(), MAX_RESOURCES);
-        
-        for (int i = 0; i < limit; i++) {
-            String text = resources.get(i);
-            if (text == null) continue;
-            
-            if (text.length() > PER_RESOURCE_CHAR_LIMIT) {
-                text = text.substring(0, PER_RESOURCE_CHAR_LIMIT) + " [TRUNCATED]";
+
+        PackedDocuments packed = promptPacker.pack(context, instructionTokens + TokenEstimator.estimate(sb));
+
+        for (PackedDocument document : packed.getDocuments()) {
+            sb.append("=== FILE: ").append(document.filename()).append(" ===\n");
+            sb.append(document.text());
+            if (document.truncated()) {
+                sb.append(" [TRUNCATED]");
             }
-            sb.append(text).append("\n---\n");
+            sb.append("\n---\n");
         }
         
         return sb.toString();
@@ -0,0 +1,23 @@
+package com.studybuddy.Service.AI.Strategy;
+
+/**
+ * Estimativa barata de tokens sem tokenizer: ~3,5 caracteres por token, um pouco
+ * conservador para texto em português e trechos de código.
+ */
+public final class TokenEstimator {
+    private static final double CHARS_PER_TOKEN = 3.5;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return 0;
+        }
+        return (int) Math.ceil(text.length() / CHARS_PER_TOKEN);
+    }
+
+    public static int toChars(int tokens) {
+        return (int) Math.floor(tokens * CHARS_PER_TOKEN);
+    }
+}
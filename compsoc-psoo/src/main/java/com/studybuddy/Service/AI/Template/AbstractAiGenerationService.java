@@ -7,65 +7,175 @@ import com.studybuddy.Exception.ResourceProcessingException;
 import com.studybuddy.Service.AI.AiChatClient;
 import com.studybuddy.Service.AI.AiRequest;
 import com.studybuddy.Service.AI.AiResponse;
+import com.studybuddy.Service.AI.GenerationSingleFlight;
 import com.studybuddy.Service.AI.Strategy.PromptContext;
 import com.studybuddy.Service.AI.Strategy.PromptStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public abstract class AbstractAiGenerationService<T> {
     protected final Logger log = LoggerFactory.getLogger(getClass());
     protected final ObjectMapper objectMapper = new ObjectMapper();
     protected final AiChatClient aiChatClient;
+    protected final Executor generationExecutor;
+    private final GenerationSingleFlight singleFlight;
+    private final MapReduceSummarizer mapReduce;
 
-    protected AbstractAiGenerationService(AiChatClient aiChatClient) {
+    protected AbstractAiGenerationService(AiChatClient aiChatClient, Executor generationExecutor,
+                                          GenerationSingleFlight singleFlight, MapReduceSummarizer mapReduce) {
         this.aiChatClient = aiChatClient;
+        this.generationExecutor = generationExecutor;
+        this.singleFlight = singleFlight;
+        this.mapReduce = mapReduce;
     }
 
-    public final void generate(UUID studyflowId) {
+    public void generate(UUID studyflowId) {
+        try {
+            singleFlight.run(getGeneratorName(), studyflowId, Runnable::run, () -> isAlreadyGenerated(studyflowId),
+                    () -> runGeneration(studyflowId, true)).join();
+        } catch (CompletionException e) {
+            throw translateFailure(studyflowId, e);
+        }
+    }
+
+    /**
+     * Mesmo fluxo de {@link #generate(UUID)}, mas as etapas locais rodam no pool de geração
+     * e nenhuma thread fica parada esperando o provedor.
+     */
+    public CompletableFuture<Void> generateAsync(UUID studyflowId) {
+        return singleFlight.run(getGeneratorName(), studyflowId, generationExecutor, () -> isAlreadyGenerated(studyflowId),
+                () -> runGeneration(studyflowId, false));
+    }
+
+    /**
+     * Como {@link #generateAsync(UUID)}, repassando o texto gerado para {@code onDelta}
+     * enquanto o provedor responde. Quem se junta a uma geração já em andamento não recebe
+     * trechos, só o future.
+     */
+    public CompletableFuture<Void> generateStreaming(UUID studyflowId, Consumer<String> onDelta) {
+        return singleFlight.run(getGeneratorName(), studyflowId, generationExecutor, () -> isAlreadyGenerated(studyflowId),
+                () -> runAsync(studyflowId, request -> aiChatClient.streamRequest(request, onDelta)));
+    }
+
+    /**
+     * Fluxo usado por {@link #generate(UUID)} ({@code blocking}) e {@link #generateAsync(UUID)};
+     * {@link AbstractStreamingAiGenerationService} troca pelo streaming por elemento.
+     */
+    CompletableFuture<Void> runGeneration(UUID studyflowId, boolean blocking) {
+        return blocking ? runSync(studyflowId) : runAsync(studyflowId, aiChatClient::sendRequestAsync);
+    }
+
+    private CompletableFuture<Void> runSync(UUID studyflowId) {
         log.info("Starting AI generation for studyflow: {}", studyflowId);
         long startTime = System.currentTimeMillis();
 
         try {
-            PromptContext context = gatherContext(studyflowId);
+            AiRequest request = prepareRequest(studyflowId);
 
-            PromptStrategy strategy = selectPromptStrategy(context);
+            AiResponse response = aiChatClient.sendRequest(request);
 
-            String promptContent = strategy.buildPrompt(context);
-            log.info("=== PROMPT BUILT ===");
-            log.info("Prompt length: {}", promptContent.length());
-            log.info("Prompt (first 500 chars): {}", promptContent.substring(0, Math.min(500, promptContent.length())));
+            handleResponse(studyflowId, request, response);
 
-            AiRequest request = buildAiRequest(promptContent);
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("AI generation completed for studyflow: {} in {}ms", studyflowId, duration);
+            return CompletableFuture.completedFuture(null);
 
-            AiResponse response = aiChatClient.sendRequest(request);
+        } catch (Exception e) {
+            throw translateFailure(studyflowId, e);
+        } finally {
+            mapReduce.finish(getGeneratorName(), studyflowId);
+        }
+    }
 
-            log.info("=== AI RESPONSE RECEIVED ===");
-            log.info("Success: {}", response.isSuccessful());
-            log.info("Content length: {}", response.getContent() != null ? response.getContent().length() : 0);
-            log.info("Content (first 1000 chars): {}", response.getContent() != null ? response.getContent().substring(0, Math.min(1000, response.getContent().length())) : "NULL");
+    private CompletableFuture<Void> runAsync(UUID studyflowId, Function<AiRequest, CompletableFuture<AiResponse>> send) {
+        log.info("Starting async AI generation for studyflow: {}", studyflowId);
+        long startTime = System.currentTimeMillis();
 
-            if (!response.isSuccessful()) {
-                throw new AiProviderException("AI provider returned unsuccessful response");
-            }
+        return prepareRequestAsync(studyflowId)
+                .thenCompose(request -> send.apply(request)
+                        .thenAcceptAsync(response -> handleResponse(studyflowId, request, response), generationExecutor))
+                .handle((ignored, error) -> finishGeneration(studyflowId, startTime, error));
+    }
 
-            JsonNode parsedContent = parseResponse(response.getContent());
+    Void finishGeneration(UUID studyflowId, long startTime, Throwable error) {
+        mapReduce.finish(getGeneratorName(), studyflowId);
+        if (error != null) {
+            throw translateFailure(studyflowId, error);
+        }
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("AI generation completed for studyflow: {} in {}ms", studyflowId, duration);
+        return null;
+    }
 
-            T processedData = mapResponseToData(parsedContent);
+    private AiRequest prepareRequest(UUID studyflowId) {
+        PromptContext context = gatherContext(studyflowId).withGenerationLimits(getModel(), getMaxTokens());
+        if (usesMapReduce(context)) {
+            context = mapReduce.reduceToFit(getGeneratorName(), studyflowId, context).join();
+        }
+        return buildRequest(context);
+    }
 
-            persistResults(studyflowId, processedData);
+    /**
+     * Quando o material não cabe no prompt, os blocos são resumidos em paralelo antes
+     * de montar a requisição final.
+     */
+    CompletableFuture<AiRequest> prepareRequestAsync(UUID studyflowId) {
+        return CompletableFuture.supplyAsync(() -> gatherContext(studyflowId).withGenerationLimits(getModel(), getMaxTokens()), generationExecutor)
+                .thenCompose(context -> usesMapReduce(context)
+                        ? mapReduce.reduceToFit(getGeneratorName(), studyflowId, context)
+                        : CompletableFuture.completedFuture(context))
+                .thenApplyAsync(this::buildRequest, generationExecutor);
+    }
 
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("AI generation completed for studyflow: {} in {}ms", studyflowId, duration);
+    private AiRequest buildRequest(PromptContext context) {
+        PromptStrategy strategy = selectPromptStrategy(context);
+
+        String promptContent = strategy.buildPrompt(context);
+        log.info("=== PROMPT BUILT ===");
+        log.info("Prompt length: {}", promptContent.length());
+        log.info("Prompt (first 500 chars): {}", promptContent.substring(0, Math.min(500, promptContent.length())));
+
+        return buildAiRequest(promptContent);
+    }
 
-        } catch (AiProviderException | ResourceProcessingException e) {
-            log.error("AI generation failed for studyflow: {}", studyflowId, e);
+    void handleResponse(UUID studyflowId, AiRequest request, AiResponse response) {
+        log.info("=== AI RESPONSE RECEIVED ===");
+        log.info("Success: {}", response.isSuccessful());
+        log.info("Content length: {}", response.getContent() != null ? response.getContent().length() : 0);
+        log.info("Content (first 1000 chars): {}", response.getContent() != null ? response.getContent().substring(0, Math.min(1000, response.getContent().length())) : "NULL");
+
+        if (!response.isSuccessful()) {
+            throw new AiProviderException("AI provider returned unsuccessful response");
+        }
+
+        T processedData;
+        try {
+            JsonNode parsedContent = parseResponse(response.getContent());
+            processedData = mapResponseToData(parsedContent);
+        } catch (RuntimeException e) {
+            // resposta inválida não pode ficar no cache, senão a próxima tentativa repete o erro
+            aiChatClient.evict(request);
             throw e;
-        } catch (Exception e) {
-            log.error("Unexpected error during AI generation for studyflow: {}", studyflowId, e);
-            throw new ResourceProcessingException("Unexpected error during AI generation", e);
         }
+
+        persistResults(studyflowId, processedData);
+    }
+
+    private RuntimeException translateFailure(UUID studyflowId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof AiProviderException || cause instanceof ResourceProcessingException) {
+            log.error("AI generation failed for studyflow: {}", studyflowId, cause);
+            return (RuntimeException) cause;
+        }
+        log.error("Unexpected error during AI generation for studyflow: {}", studyflowId, cause);
+        return new ResourceProcessingException("Unexpected error during AI generation", cause);
     }
 
     protected abstract PromptContext gatherContext(UUID studyflowId);
@@ -74,6 +184,8 @@ public abstract class AbstractAiGenerationService<T> {
 
     protected AiRequest buildAiRequest(String promptContent) {
         return AiRequest.builder()
+                .model(getModel())
+                .purpose(getGeneratorName())
                 .addSystemMessage(getSystemPrompt())
                 .addUserMessage(promptContent)
                 .temperature(getTemperature())
@@ -117,10 +229,37 @@ public abstract class AbstractAiGenerationService<T> {
 
     protected abstract void persistResults(UUID studyflowId, T data);
 
+    /**
+     * Serviços que montam o prompt a partir dos documentos do studyflow devolvem true para
+     * resumir o material em blocos (map-reduce) quando ele não cabe na janela do modelo.
+     */
+    protected boolean usesMapReduce(PromptContext context) {
+        return false;
+    }
+
+    /**
+     * Consultado dentro da execução única (e do advisory lock, se ligado); serviços cujo
+     * resultado não deve ser gerado duas vezes devolvem true quando ele já existe.
+     */
+    protected boolean isAlreadyGenerated(UUID studyflowId) {
+        return false;
+    }
+
+    /**
+     * Identifica o tipo de geração na chave da execução única.
+     */
+    protected String getGeneratorName() {
+        return getClass().getSimpleName();
+    }
+
     protected String getSystemPrompt() {
         return "You are an assistant that must output ONLY a single JSON ARRAY and nothing else.";
     }
 
+    protected String getModel() {
+        return AiRequest.DEFAULT_MODEL;
+    }
+
     protected double getTemperature() {
         return 0.0;
     }
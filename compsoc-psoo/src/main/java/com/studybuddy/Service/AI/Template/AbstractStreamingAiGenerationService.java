@@ -0,0 +1,76 @@
+package com.studybuddy.Service.AI.Template;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.studybuddy.Service.AI.AiChatClient;
+import com.studybuddy.Service.AI.GenerationSingleFlight;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Base para serviços que respondem com um array de itens independentes: cada item é
+ * persistido por {@link #persistElement} assim que fecha no streaming, em vez de
+ * esperar a resposta inteira.
+ */
+public abstract class AbstractStreamingAiGenerationService<T> extends AbstractAiGenerationService<T> {
+
+    protected AbstractStreamingAiGenerationService(AiChatClient aiChatClient, Executor generationExecutor,
+                                                   GenerationSingleFlight singleFlight, MapReduceSummarizer mapReduce) {
+        super(aiChatClient, generationExecutor, singleFlight, mapReduce);
+    }
+
+    @Override
+    CompletableFuture<Void> runGeneration(UUID studyflowId, boolean blocking) {
+        return runElementStreaming(studyflowId);
+    }
+
+    /**
+     * Pede a resposta em streaming e persiste cada elemento do array assim que ele fecha,
+     * em ordem, pelo pool de geração. Se nenhum elemento sair do streaming, cai no parse completo.
+     */
+    private CompletableFuture<Void> runElementStreaming(UUID studyflowId) {
+        log.info("Starting streamed AI generation for studyflow: {}", studyflowId);
+        long startTime = System.currentTimeMillis();
+
+        PersistChain persisted = new PersistChain();
+        JsonArrayElementStreamer streamer = new JsonArrayElementStreamer(objectMapper, element ->
+                persisted.append(() -> persistElement(studyflowId, element)));
+
+        return prepareRequestAsync(studyflowId)
+                .thenCompose(request -> aiChatClient.streamRequest(request, streamer::feed)
+                        .thenCompose(response -> persisted.tail().thenApply(ignored -> response))
+                        .thenAcceptAsync(response -> {
+                            if (streamer.getEmitted() == 0) {
+                                log.info("No elements streamed for studyflow {}, parsing the full response", studyflowId);
+                                handleResponse(studyflowId, request, response);
+                            } else if (!streamer.isComplete()) {
+                                // resposta truncada não deve ser reaproveitada pelo cache
+                                aiChatClient.evict(request);
+                                log.warn("AI response for studyflow {} ended early, kept {} streamed elements", studyflowId, streamer.getEmitted());
+                            } else {
+                                log.info("Persisted {} streamed elements for studyflow {}", streamer.getEmitted(), studyflowId);
+                            }
+                        }, generationExecutor))
+                .handle((ignored, error) -> finishGeneration(studyflowId, startTime, error));
+    }
+
+    protected abstract void persistElement(UUID studyflowId, JsonNode element);
+
+    /**
+     * Encadeia as gravações na ordem em que os elementos chegam. O streamer chama
+     * {@link #append} de dentro do {@code feed} sincronizado, e o monitor daqui cobre
+     * a leitura final feita por outra thread.
+     */
+    private final class PersistChain {
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        synchronized void append(Runnable persist) {
+            tail = tail.thenRunAsync(persist, generationExecutor);
+        }
+
+        synchronized CompletableFuture<Void> tail() {
+            return tail;
+        }
+    }
+}
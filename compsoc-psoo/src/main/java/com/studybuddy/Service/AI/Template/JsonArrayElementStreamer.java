@@ -0,0 +1,113 @@
+package com.studybuddy.Service.AI.Template;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Parser incremental para uma resposta em forma de array JSON. Recebe o texto em
+ * trechos e entrega cada elemento do array assim que ele fecha, sem esperar o resto.
+ * Ignora o que vier antes do primeiro {@code [} e depois do {@code ]} final.
+ */
+class JsonArrayElementStreamer {
+    private static final Logger log = LoggerFactory.getLogger(JsonArrayElementStreamer.class);
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<JsonNode> onElement;
+    private final JsonParser parser;
+
+    private boolean started;
+    private boolean complete;
+    private boolean failed;
+    private int depth;
+    private TokenBuffer current;
+    private int emitted;
+
+    JsonArrayElementStreamer(ObjectMapper objectMapper, Consumer<JsonNode> onElement) {
+        this.objectMapper = objectMapper;
+        this.onElement = onElement;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Non-blocking JSON parser not available", e);
+        }
+    }
+
+    synchronized void feed(String chunk) {
+        if (complete || failed || chunk == null || chunk.isEmpty()) {
+            return;
+        }
+
+        String input = chunk;
+        if (!started) {
+            int arrayStart = chunk.indexOf('[');
+            if (arrayStart < 0) {
+                return;
+            }
+            started = true;
+            input = chunk.substring(arrayStart);
+        }
+
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        try {
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+            drain();
+        } catch (IOException e) {
+            failed = true;
+            log.warn("Stopped streaming JSON array after {} elements: {}", emitted, e.getMessage());
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!complete && (token = parser.nextToken()) != JsonToken.NOT_AVAILABLE && token != null) {
+            if (depth == 0) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new IOException("Expected a JSON array but found " + token);
+                }
+                depth = 1;
+                continue;
+            }
+
+            if (current == null) {
+                if (token == JsonToken.END_ARRAY) {
+                    complete = true;
+                    return;
+                }
+                current = new TokenBuffer(parser);
+            }
+
+            current.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+
+            // voltou ao nível do array: o elemento está completo
+            if (depth == 1) {
+                JsonNode element = objectMapper.readTree(current.asParser(objectMapper));
+                current = null;
+                emitted++;
+                onElement.accept(element);
+            }
+        }
+    }
+
+    synchronized boolean isComplete() {
+        return complete;
+    }
+
+    synchronized int getEmitted() {
+        return emitted;
+    }
+}
@@ -0,0 +1,165 @@
+package com.studybuddy.Service.AI.Template;
+
+import com.studybuddy.Exception.AiProviderException;
+import com.studybuddy.Service.AI.AiChatClient;
+import com.studybuddy.Service.AI.AiGenerationExecutor;
+import com.studybuddy.Service.AI.AiRequest;
+import com.studybuddy.Service.AI.GenerationProgressTracker;
+import com.studybuddy.Service.AI.Strategy.ChunkSummaryPromptStrategy;
+import com.studybuddy.Service.AI.Strategy.ModelContextBudgets;
+import com.studybuddy.Service.AI.Strategy.PromptContext;
+import com.studybuddy.Service.AI.Strategy.PromptPacker;
+import com.studybuddy.Service.Extractor.ExtractedDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Etapa "map" da geração em map-reduce: quando o material não cabe no prompt, divide o
+ * texto em blocos, resume cada bloco em paralelo (com concorrência limitada) e devolve
+ * um contexto com os resumos no lugar dos documentos. O prompt final ("reduce") é montado
+ * pela estratégia normal do serviço. Os resumos passam pelo cache de respostas, então uma
+ * nova tentativa depois de uma falha reaproveita os blocos que já terminaram.
+ */
+@Component
+public class MapReduceSummarizer {
+    private static final Logger log = LoggerFactory.getLogger(MapReduceSummarizer.class);
+
+    /** reserva para o texto fixo do prompt final (instruções e lista de indicadores) */
+    static final int PROMPT_RESERVE_TOKENS = 2500;
+    private static final int SUMMARY_PROMPT_TOKENS = 400;
+    private static final String PURPOSE = "ChunkSummary";
+
+    private final AiChatClient aiChatClient;
+    private final AiGenerationExecutor generationExecutor;
+    private final ChunkSummaryPromptStrategy chunkSummaryStrategy;
+    private final PromptPacker promptPacker;
+    private final ModelContextBudgets modelContextBudgets;
+    private final GenerationProgressTracker progressTracker;
+    private final int parallelism;
+    private final int chunkTokens;
+    private final int summaryTokens;
+    private final int maxLevels;
+
+    public MapReduceSummarizer(AiChatClient aiChatClient,
+                               AiGenerationExecutor generationExecutor,
+                               ChunkSummaryPromptStrategy chunkSummaryStrategy,
+                               PromptPacker promptPacker,
+                               ModelContextBudgets modelContextBudgets,
+                               GenerationProgressTracker progressTracker,
+                               @Value("${studybuddy.ai.map-reduce.parallelism:4}") int parallelism,
+                               @Value("${studybuddy.ai.map-reduce.chunk-tokens:8000}") int chunkTokens,
+                               @Value("${studybuddy.ai.map-reduce.summary-tokens:900}") int summaryTokens,
+                               @Value("${studybuddy.ai.map-reduce.max-levels:3}") int maxLevels) {
+        this.aiChatClient = aiChatClient;
+        this.generationExecutor = generationExecutor;
+        this.chunkSummaryStrategy = chunkSummaryStrategy;
+        this.promptPacker = promptPacker;
+        this.modelContextBudgets = modelContextBudgets;
+        this.progressTracker = progressTracker;
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkTokens = chunkTokens;
+        this.summaryTokens = summaryTokens;
+        this.maxLevels = maxLevels;
+    }
+
+    /**
+     * Devolve o próprio contexto se os documentos já cabem; senão resume em blocos,
+     * repetindo sobre os resumos até caber ou atingir {@code max-levels}.
+     */
+    public CompletableFuture<PromptContext> reduceToFit(String generator, UUID studyflowId, PromptContext context) {
+        return reduceToFit(generator, studyflowId, context, 1);
+    }
+
+    public void finish(String generator, UUID studyflowId) {
+        progressTracker.finish(generator, studyflowId);
+    }
+
+    private CompletableFuture<PromptContext> reduceToFit(String generator, UUID studyflowId, PromptContext context, int level) {
+        if (promptPacker.fits(context, PROMPT_RESERVE_TOKENS)) {
+            if (level > 1) {
+                progressTracker.start(studyflowId, generator, "REDUCE", 0);
+            }
+            return CompletableFuture.completedFuture(context);
+        }
+        if (level > maxLevels) {
+            log.warn("Summaries for studyflow {} still exceed the prompt budget after {} levels, packing what fits", studyflowId, maxLevels);
+            progressTracker.start(studyflowId, generator, "REDUCE", 0);
+            return CompletableFuture.completedFuture(context);
+        }
+
+        int mapChunkTokens = Math.min(chunkTokens,
+                modelContextBudgets.inputTokens(context.getModel(), summaryTokens) - SUMMARY_PROMPT_TOKENS);
+        List<List<ExtractedDocument>> chunks = promptPacker.chunk(context.getDocuments(), mapChunkTokens);
+        log.info("Map-reduce level {} for {} on studyflow {}: {} chunks, parallelism {}",
+                level, generator, studyflowId, chunks.size(), parallelism);
+        progressTracker.start(studyflowId, generator, "MAP_" + level, chunks.size());
+
+        return mapChunks(generator, studyflowId, context, chunks)
+                .thenCompose(summaries -> reduceToFit(generator, studyflowId, context.withDocuments(summaries), level + 1));
+    }
+
+    /**
+     * Distribui os blocos em {@code parallelism} filas; cada fila resume seus blocos em
+     * sequência, então no máximo {@code parallelism} chamadas ficam abertas ao mesmo tempo.
+     */
+    private CompletableFuture<List<ExtractedDocument>> mapChunks(String generator, UUID studyflowId, PromptContext context,
+                                                                 List<List<ExtractedDocument>> chunks) {
+        ExtractedDocument[] summaries = new ExtractedDocument[chunks.size()];
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+
+        for (int lane = 0; lane < Math.min(parallelism, chunks.size()); lane++) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int i = lane; i < chunks.size(); i += parallelism) {
+                int index = i;
+                chain = chain.thenCompose(ignored -> summarize(context, chunks.get(index), index, chunks.size()))
+                        .thenAccept(summary -> {
+                            summaries[index] = summary;
+                            progressTracker.advance(generator, studyflowId);
+                        });
+            }
+            lanes.add(chain);
+        }
+
+        return CompletableFuture.allOf(lanes.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> Arrays.stream(summaries).filter(Objects::nonNull).toList());
+    }
+
+    private CompletableFuture<ExtractedDocument> summarize(PromptContext context, List<ExtractedDocument> chunk,
+                                                           int index, int total) {
+        PromptContext chunkContext = context.withDocuments(chunk).withGenerationLimits(context.getModel(), summaryTokens);
+
+        return CompletableFuture.supplyAsync(() -> AiRequest.builder()
+                        .model(context.getModel())
+                        .purpose(PURPOSE)
+                        .addSystemMessage("Você resume material de estudo em notas fiéis e compactas, em Markdown.")
+                        .addUserMessage(chunkSummaryStrategy.buildPrompt(chunkContext))
+                        .temperature(0.0)
+                        .maxTokens(summaryTokens)
+                        .build(), generationExecutor)
+                .thenCompose(aiChatClient::sendRequestAsync)
+                .thenApply(response -> {
+                    if (!response.isSuccessful()) {
+                        throw new AiProviderException("AI provider returned unsuccessful response for chunk " + (index + 1));
+                    }
+                    String sources = chunk.stream().map(ExtractedDocument::getFilename).distinct().collect(Collectors.joining(", "));
+                    if (response.getContent() == null || response.getContent().isBlank()) {
+                        log.warn("Empty summary for chunk {}/{} ({}), skipping", index + 1, total, sources);
+                        return null;
+                    }
+                    log.debug("Summarized chunk {}/{} ({}), {} chars", index + 1, total, sources, response.getContent().length());
+                    String filename = "Resumo " + (index + 1) + "/" + total + ": " + sources;
+                    return ExtractedDocument.parsed(chunk.get(0).getResourceId(), filename, "text/markdown",
+                            response.getContent().strip(), Integer.MAX_VALUE);
+                });
+    }
+}
@@ -0,0 +1,82 @@
+package com.studybuddy.Service.Cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache LRU em memória limitado por número de entradas e por "peso" total
+ * (ex.: quantidade de caracteres). Thread-safe via sincronização simples.
+ */
+public class LruCache<K, V> {
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentWeight;
+
+    public LruCache(int maxEntries, long maxWeight, ToLongFunction<V> weigher) {
+        if (maxEntries <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException("maxEntries and maxWeight must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        long weight = weigher.applyAsLong(value);
+        if (weight > maxWeight) {
+            invalidate(key);
+            return;
+        }
+
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            currentWeight -= weigher.applyAsLong(previous);
+        }
+        currentWeight += weight;
+        evict();
+    }
+
+    public synchronized void invalidate(K key) {
+        V removed = entries.remove(key);
+        if (removed != null) {
+            currentWeight -= weigher.applyAsLong(removed);
+        }
+    }
+
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, V> entry = it.next();
+            if (predicate.test(entry.getKey())) {
+                currentWeight -= weigher.applyAsLong(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return currentWeight;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || currentWeight > maxWeight) && it.hasNext()) {
+            Map.Entry<K, V> eldest = it.next();
+            currentWeight -= weigher.applyAsLong(eldest.getValue());
+            it.remove();
+        }
+    }
+}
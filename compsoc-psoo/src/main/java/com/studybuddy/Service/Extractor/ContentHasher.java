@@ -0,0 +1,28 @@
+package com.studybuddy.Service.Extractor;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class ContentHasher {
+    private static final String ALGORITHM = "SHA-256";
+
+    private ContentHasher() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+
+    public static String sha256Hex(byte[] data) {
+        return toHex(newDigest().digest(data));
+    }
+
+    public static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+}
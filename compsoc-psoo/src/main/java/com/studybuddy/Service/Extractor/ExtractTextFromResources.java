@@ -3,50 +3,130 @@ package com.studybuddy.Service.Extractor;
 import com.studybuddy.Entity.IndicatorEntity;
 import com.studybuddy.Entity.StudyflowEntity;
 import com.studybuddy.Exception.GenericException;
+import com.studybuddy.Exception.ResourceProcessingException;
 import com.studybuddy.Repository.Studyflow.Indicator.IndicatorEntityRepository;
 import com.studybuddy.Repository.Studyflow.Resource.ResourceEntityRepository;
 import com.studybuddy.Repository.Studyflow.StudyflowEntityRepository;
+import com.studybuddy.Service.Storage.BlobStore;
 import jakarta.transaction.Transactional;
-import org.apache.tika.Tika;
-import org.apache.tika.metadata.Metadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 import com.studybuddy.entity.ResourceEntity;
 
 @Service
 public class ExtractTextFromResources {
+    private static final Logger log = LoggerFactory.getLogger(ExtractTextFromResources.class);
 
     private static final String FILE_HEADER = "=== FILE: ";
     private static final String FILE_END = " ===\n";
     private static final String FILE_FAILED = " (FAILED TO PARSE) ===\n\n";
+    private static final int MAX_DOCUMENT_CHARS = 200_000;
 
     private final ResourceEntityRepository resourceEntityRepository;
     private final StudyflowEntityRepository studyflowEntityRepository;
     private final IndicatorEntityRepository indicatorEntityRepository;
+    private final ExtractedTextStore extractedTextStore;
+    private final TikaExtractionPool tikaExtractionPool;
+    private final BlobStore blobStore;
+    // parses em andamento por hash: upload (warm) e pipeline não parseiam o mesmo arquivo duas vezes
+    private final ConcurrentHashMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
 
     ExtractTextFromResources(ResourceEntityRepository resourceEntityRepository,
                              StudyflowEntityRepository studyflowEntityRepository,
-                             IndicatorEntityRepository indicatorEntityRepository) {
+                             IndicatorEntityRepository indicatorEntityRepository,
+                             ExtractedTextStore extractedTextStore,
+                             TikaExtractionPool tikaExtractionPool,
+                             BlobStore blobStore) {
 
         this.resourceEntityRepository = resourceEntityRepository;
         this.studyflowEntityRepository = studyflowEntityRepository;
         this.indicatorEntityRepository = indicatorEntityRepository;
+        this.extractedTextStore = extractedTextStore;
+        this.tikaExtractionPool = tikaExtractionPool;
+        this.blobStore = blobStore;
     }
 
-    @Transactional
-    public List<String> getTextFromAllResources(UUID studyflowId) {
-        Tika tika = new Tika();
+    /**
+     * Retorna o texto do recurso, consultando o cache por hash antes de chamar o Tika.
+     */
+    public String extractText(ResourceEntity resourceEntity) {
+        try {
+            return extractTextAsync(resourceEntity).join();
+        } catch (CompletionException e) {
+            throw new ResourceProcessingException("Failed to extract text from " + resourceEntity.getFilename(), e.getCause());
+        }
+    }
+
+    public CompletableFuture<String> extractTextAsync(ResourceEntity resourceEntity) {
+        String contentHash = resourceEntity.getContentHash();
+        if (contentHash == null) {
+            // linha antiga ainda não migrada para o blob store; falha no future, não em quem chamou
+            return CompletableFuture.failedFuture(new ResourceProcessingException(
+                    "Resource " + resourceEntity.getId() + " has no content hash"));
+        }
+
+        Optional<String> cached = extractedTextStore.find(contentHash);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        String storageKey = resourceEntity.getStorageKey();
+        if (storageKey == null) {
+            return CompletableFuture.failedFuture(new ResourceProcessingException(
+                    "Resource " + resourceEntity.getId() + " has no stored content"));
+        }
+
+        CompletableFuture<String> started = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(contentHash, started);
+        if (running != null) {
+            return running.copy();
+        }
+
+        tikaExtractionPool.parse(() -> blobStore.open(storageKey), resourceEntity.getSizeBytes(), resourceEntity.getFilename())
+                .thenApply(text -> {
+                    extractedTextStore.save(contentHash, text);
+                    return text;
+                })
+                .whenComplete((text, error) -> {
+                    inFlight.remove(contentHash, started);
+                    if (error != null) {
+                        started.completeExceptionally(error);
+                    } else {
+                        started.complete(text);
+                    }
+                });
+        return started.copy();
+    }
 
-        List<String> resourceText = new ArrayList<>();
-        StringBuilder allText = new StringBuilder();
+    /**
+     * Agenda a extração no momento do upload, para que os geradores encontrem o texto já em cache.
+     */
+    public void warm(ResourceEntity resourceEntity) {
+        extractTextAsync(resourceEntity).whenComplete((text, e) -> {
+            if (e != null) {
+                log.warn("Failed to pre-extract text for resource {} ({})", resourceEntity.getId(), resourceEntity.getFilename(), e);
+            }
+        });
+    }
 
+    /**
+     * Produz um {@link ExtractedDocument} por recurso do studyflow (exceto o indicador),
+     * sem acumular o texto dos arquivos anteriores.
+     */
+    @Transactional
+    public Stream<ExtractedDocument> streamDocuments(UUID studyflowId) {
         List<ResourceEntity> resourceEntityList =
                 new ArrayList<>(resourceEntityRepository.findAllByStudyFlowId(studyflowId));
 
@@ -65,33 +145,33 @@ public class ExtractTextFromResources {
             resourceEntityList.removeIf(re -> re != null && indicatorId != null && indicatorId.equals(re.getId()));
         }
 
-        resourceEntityList.forEach(resourceEntity -> {
-            try (InputStream stream = new ByteArrayInputStream(resourceEntity.getFileData())) {
-                Metadata metadata = new Metadata();
-                String text = tika.parseToString(stream, metadata);
-
-                allText.append(FILE_HEADER)
-                       .append(resourceEntity.getFilename())
-                       .append(FILE_END);
+        // dispara todos os parses antes de consumir o primeiro resultado
+        List<CompletableFuture<ExtractedDocument>> pending = resourceEntityList.stream()
+                .map(this::extractDocumentAsync)
+                .toList();
 
-                allText.append(text).append("\n\n");
-
-            } catch (Exception e) {
-                allText.append(FILE_HEADER)
-                       .append(resourceEntity.getFilename())
-                       .append(FILE_FAILED);
-
-                e.printStackTrace();
-            }
-
-            resourceText.add(allText.toString());
-        });
+        return pending.stream().map(CompletableFuture::join);
+    }
 
-        return resourceText;
+    private CompletableFuture<ExtractedDocument> extractDocumentAsync(ResourceEntity resourceEntity) {
+        UUID id = resourceEntity.getId();
+        String filename = resourceEntity.getFilename();
+        String mimeType = resourceEntity.getMimeType();
+
+        return extractTextAsync(resourceEntity)
+                .thenApply(text -> ExtractedDocument.parsed(id, filename, mimeType, text, MAX_DOCUMENT_CHARS))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        log.warn("Extraction timed out for resource {} ({})", id, filename);
+                        return ExtractedDocument.timedOut(id, filename, mimeType);
+                    }
+                    log.warn("Failed to parse resource {} ({})", id, filename, cause);
+                    return ExtractedDocument.failed(id, filename, mimeType);
+                });
     }
 
     public String getIndicatorText(UUID studyflowId) {
-        Tika tika = new Tika();
         StringBuilder resourceText = new StringBuilder();
 
         Optional<StudyflowEntity> studyflowEntityOptional = studyflowEntityRepository.findById(studyflowId);
@@ -107,9 +187,8 @@ public class ExtractTextFromResources {
             return null;
         }
 
-        try (InputStream stream = new ByteArrayInputStream(indicator.getFileData())) {
-            Metadata metadata = new Metadata();
-            String text = tika.parseToString(stream, metadata);
+        try {
+            String text = extractText(indicator);
 
             resourceText.append(FILE_HEADER)
                         .append(indicator.getFilename())
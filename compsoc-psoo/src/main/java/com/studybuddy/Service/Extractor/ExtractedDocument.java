@@ -0,0 +1,76 @@
+package com.studybuddy.Service.Extractor;
+
+import java.util.UUID;
+
+/**
+ * Texto extraído de um único recurso. O texto é limitado em tamanho;
+ * {@code charCount} guarda o tamanho original antes do corte.
+ */
+public class ExtractedDocument {
+
+    public enum ParseStatus {
+        OK,
+        TRUNCATED,
+        TIMEOUT,
+        FAILED
+    }
+
+    private final UUID resourceId;
+    private final String filename;
+    private final String mimeType;
+    private final String text;
+    private final int charCount;
+    private final ParseStatus status;
+
+    private ExtractedDocument(UUID resourceId, String filename, String mimeType, String text, int charCount, ParseStatus status) {
+        this.resourceId = resourceId;
+        this.filename = filename;
+        this.mimeType = mimeType;
+        this.text = text;
+        this.charCount = charCount;
+        this.status = status;
+    }
+
+    public static ExtractedDocument parsed(UUID resourceId, String filename, String mimeType, String text, int maxChars) {
+        if (text.length() > maxChars) {
+            return new ExtractedDocument(resourceId, filename, mimeType, text.substring(0, maxChars), text.length(), ParseStatus.TRUNCATED);
+        }
+        return new ExtractedDocument(resourceId, filename, mimeType, text, text.length(), ParseStatus.OK);
+    }
+
+    public static ExtractedDocument failed(UUID resourceId, String filename, String mimeType) {
+        return new ExtractedDocument(resourceId, filename, mimeType, "", 0, ParseStatus.FAILED);
+    }
+
+    public static ExtractedDocument timedOut(UUID resourceId, String filename, String mimeType) {
+        return new ExtractedDocument(resourceId, filename, mimeType, "", 0, ParseStatus.TIMEOUT);
+    }
+
+    public UUID getResourceId() {
+        return resourceId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getCharCount() {
+        return charCount;
+    }
+
+    public ParseStatus getStatus() {
+        return status;
+    }
+
+    public boolean hasText() {
+        return !text.isBlank();
+    }
+}
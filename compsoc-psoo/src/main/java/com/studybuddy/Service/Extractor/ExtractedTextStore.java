@@ -0,0 +1,72 @@
+package com.studybuddy.Service.Extractor;
+
+import com.studybuddy.Entity.ExtractedTextEntity;
+import com.studybuddy.Repository.Studyflow.Resource.ExtractedTextEntityRepository;
+import com.studybuddy.Service.Cache.LruCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Armazena o texto extraído pelo Tika indexado pelo SHA-256 dos bytes do arquivo.
+ * Primeiro consulta o LRU em memória, depois a tabela extracted_texts.
+ */
+@Component
+public class ExtractedTextStore {
+    private static final Logger log = LoggerFactory.getLogger(ExtractedTextStore.class);
+
+    private final ExtractedTextEntityRepository extractedTextEntityRepository;
+    private final TransactionTemplate requiresNewTransaction;
+    private final LruCache<String, String> memoryTier;
+
+    public ExtractedTextStore(ExtractedTextEntityRepository extractedTextEntityRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${studybuddy.extraction.cache.max-entries:256}") int maxEntries,
+                              @Value("${studybuddy.extraction.cache.max-chars:50000000}") long maxChars) {
+        this.extractedTextEntityRepository = extractedTextEntityRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.memoryTier = new LruCache<>(maxEntries, maxChars, String::length);
+    }
+
+    public Optional<String> find(String contentHash) {
+        String cached = memoryTier.get(contentHash);
+        if (cached != null) {
+            log.debug("Extracted text memory hit for {}", contentHash);
+            return Optional.of(cached);
+        }
+
+        Optional<String> stored = extractedTextEntityRepository.findById(contentHash)
+                .map(ExtractedTextEntity::getText);
+        stored.ifPresent(text -> memoryTier.put(contentHash, text));
+        log.debug("Extracted text {} for {}", stored.isPresent() ? "database hit" : "miss", contentHash);
+        return stored;
+    }
+
+    public void save(String contentHash, String text) {
+        memoryTier.put(contentHash, text);
+
+        try {
+            requiresNewTransaction.executeWithoutResult(status -> {
+                if (extractedTextEntityRepository.existsById(contentHash)) {
+                    return;
+                }
+                ExtractedTextEntity entity = new ExtractedTextEntity();
+                entity.setContentHash(contentHash);
+                entity.setText(text);
+                entity.setCharCount(text.length());
+                extractedTextEntityRepository.save(entity);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // outra requisição persistiu o mesmo hash em paralelo
+            log.debug("Extracted text for {} already persisted concurrently", contentHash);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.studybuddy.Service.Extractor;
+
+import com.studybuddy.Exception.ResourceProcessingException;
+import jakarta.annotation.PreDestroy;
+import org.apache.tika.Tika;
+import org.apache.tika.metadata.Metadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool dedicado para parsing com Tika. Usa uma única instância de {@link Tika}
+ * (thread-safe), limita o tamanho do texto produzido e aplica timeout por documento.
+ * <p>
+ * O timeout só abandona o parsing: o future falha e a thread é interrompida, mas o PDFBox
+ * ignora a interrupção, então um documento travado continua ocupando o worker até terminar.
+ * Com a fila cheia o pedido é recusado em vez de rodar na thread de quem chamou.
+ */
+@Component
+public class TikaExtractionPool {
+    private static final Logger log = LoggerFactory.getLogger(TikaExtractionPool.class);
+
+    private final Tika tika;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService watchdog;
+    private final Duration timeout;
+    private final long maxInputBytes;
+
+    public TikaExtractionPool(@Value("${studybuddy.extraction.threads:0}") int threads,
+                              @Value("${studybuddy.extraction.queue-capacity:256}") int queueCapacity,
+                              @Value("${studybuddy.extraction.timeout-seconds:60}") long timeoutSeconds,
+                              @Value("${studybuddy.extraction.max-chars:1000000}") int maxChars,
+                              @Value("${studybuddy.extraction.max-input-bytes:104857600}") long maxInputBytes) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        this.tika = new Tika();
+        this.tika.setMaxStringLength(maxChars);
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+        this.maxInputBytes = maxInputBytes;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), daemonThreads("tika-extract-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(daemonThreads("tika-watchdog-"));
+    }
+
+    public int getMaxChars() {
+        return tika.getMaxStringLength();
+    }
+
+    /**
+     * Detecta o mime pelo conteúdo. O stream precisa suportar mark/reset para
+     * poder ser lido de novo depois.
+     */
+    public String detect(InputStream in, String filename) throws IOException {
+        return tika.detect(in, filename);
+    }
+
+    /**
+     * Agenda o parsing no pool. O future falha com {@link TimeoutException} se o
+     * documento passar do tempo limite depois de começar a ser processado, e com
+     * {@link ResourceProcessingException} se a fila estiver cheia.
+     */
+    public CompletableFuture<String> parse(InputStreamSource source, long sizeBytes, String filename) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+
+        if (sizeBytes <= 0) {
+            result.completeExceptionally(new ResourceProcessingException("Empty file: " + filename));
+            return result;
+        }
+        if (sizeBytes > maxInputBytes) {
+            result.completeExceptionally(new ResourceProcessingException(
+                    String.format("File %s has %d bytes, above the extraction limit of %d", filename, sizeBytes, maxInputBytes)));
+            return result;
+        }
+
+        try {
+            executor.execute(() -> run(source, filename, result));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new ResourceProcessingException("Extraction queue is full, rejected " + filename, e));
+        }
+        return result;
+    }
+
+    private void run(InputStreamSource source, String filename, CompletableFuture<String> result) {
+        if (result.isDone()) {
+            return;
+        }
+
+        Thread worker = Thread.currentThread();
+        long start = System.currentTimeMillis();
+        ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+            if (result.completeExceptionally(new TimeoutException("Extraction timed out for " + filename))) {
+                log.warn("Extraction of {} exceeded {}s, interrupting worker", filename, timeout.toSeconds());
+                worker.interrupt();
+            }
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        try (InputStream stream = source.getInputStream()) {
+            String text = tika.parseToString(stream, new Metadata());
+            result.complete(text);
+            log.debug("Extracted {} chars from {} in {}ms", text.length(), filename, System.currentTimeMillis() - start);
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        } finally {
+            deadline.cancel(false);
+            // limpa uma interrupção do watchdog antes de devolver a thread ao pool
+            Thread.interrupted();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.studybuddy.Service.Storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Armazenamento de conteúdo endereçado por hash. Gravar o mesmo conteúdo duas
+ * vezes devolve a mesma chave sem duplicar o arquivo.
+ */
+public interface BlobStore {
+    StoredBlob put(InputStream in) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Caminho do blob no disco local, quando houver; permite enviar o arquivo
+     * sem copiar para o heap (sendfile / {@code FileChannel.transferTo}).
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    boolean exists(String key);
+}
@@ -0,0 +1,74 @@
+package com.studybuddy.Service.Storage;
+
+import com.studybuddy.Exception.ResourceProcessingException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Blob;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Lê o conteúdo de recursos que ainda estão na coluna antiga {@code resources.file_data}
+ * (banco não migrado para o {@link BlobStore}).
+ */
+@Component
+public class LegacyBlobReader {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // null = ainda não consultado
+    private volatile Optional<String> columnType;
+
+    public LegacyBlobReader(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Tipo da coluna {@code file_data} ({@code oid} ou {@code bytea}), vazio se ela não existir.
+     */
+    public Optional<String> legacyColumnType() {
+        Optional<String> cached = columnType;
+        if (cached == null) {
+            List<String> types = jdbcTemplate.queryForList(
+                    "SELECT data_type FROM information_schema.columns WHERE table_name = 'resources' AND column_name = 'file_data'",
+                    String.class);
+            cached = types.stream().findFirst();
+            columnType = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Copia {@code length} bytes a partir de {@code offset} para {@code out}.
+     * Large objects são lidos com seek, sem carregar o resto do arquivo.
+     */
+    public void copy(UUID resourceId, long offset, long length, OutputStream out) {
+        boolean largeObject = "oid".equalsIgnoreCase(legacyColumnType()
+                .orElseThrow(() -> new ResourceProcessingException("Resource " + resourceId + " has no stored content")));
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                "SELECT file_data FROM resources WHERE id = ? AND file_data IS NOT NULL", rs -> {
+                    try {
+                        if (largeObject) {
+                            Blob blob = rs.getBlob(1);
+                            try (InputStream in = blob.getBinaryStream(offset + 1, length)) {
+                                in.transferTo(out);
+                            }
+                        } else {
+                            // bytea chega inteiro do driver de qualquer forma
+                            out.write(rs.getBytes(1), Math.toIntExact(offset), Math.toIntExact(length));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to stream legacy content of resource " + resourceId, e);
+                    }
+                }, resourceId));
+    }
+}
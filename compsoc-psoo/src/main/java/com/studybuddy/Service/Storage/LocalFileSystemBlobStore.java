@@ -0,0 +1,87 @@
+package com.studybuddy.Service.Storage;
+
+import com.studybuddy.Service.Extractor.ContentHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+/**
+ * {@link BlobStore} em disco local. Cada blob fica em {@code root/ab/cd/<sha256>};
+ * a escrita vai para um arquivo temporário e só é movida para o destino no fim.
+ */
+@Component
+public class LocalFileSystemBlobStore implements BlobStore {
+    private static final Logger log = LoggerFactory.getLogger(LocalFileSystemBlobStore.class);
+
+    private final Path root;
+    private final Path tmpDir;
+
+    public LocalFileSystemBlobStore(@Value("${studybuddy.storage.local.root:./data/blobs}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+    }
+
+    @Override
+    public StoredBlob put(InputStream in) throws IOException {
+        Path tmp = Files.createTempFile(tmpDir, "blob-", ".part");
+        try {
+            MessageDigest digest = ContentHasher.newDigest();
+            long size;
+            try (InputStream digesting = new DigestInputStream(in, digest);
+                 OutputStream out = Files.newOutputStream(tmp)) {
+                size = digesting.transferTo(out);
+            }
+
+            String hash = ContentHasher.toHex(digest.digest());
+            Path target = resolve(hash);
+            if (Files.exists(target)) {
+                log.debug("Blob {} already stored, discarding duplicate", hash);
+                return new StoredBlob(hash, hash, size);
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // outra thread gravou o mesmo conteúdo ao mesmo tempo
+                log.debug("Blob {} stored concurrently", hash);
+            }
+            return new StoredBlob(hash, hash, size);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        if (key == null || key.length() < 4 || !key.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
@@ -0,0 +1,149 @@
+package com.studybuddy.Service.Storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Move o conteúdo da antiga coluna {@code resources.file_data} para o {@link BlobStore},
+ * em lotes, e libera a coluna. Idempotente: só processa linhas sem {@code storage_key}.
+ * <p>
+ * Roda antes dos outros ouvintes de {@link ApplicationReadyEvent}, para que os jobs
+ * retomados na subida já encontrem os recursos com hash e chave.
+ */
+@Component
+public class ResourceBlobMigration {
+    private static final Logger log = LoggerFactory.getLogger(ResourceBlobMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStore blobStore;
+    private final LegacyBlobReader legacyBlobReader;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public ResourceBlobMigration(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 BlobStore blobStore,
+                                 LegacyBlobReader legacyBlobReader,
+                                 @Value("${studybuddy.storage.migrate-on-startup:true}") boolean enabled,
+                                 @Value("${studybuddy.storage.migration-batch-size:20}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blobStore = blobStore;
+        this.legacyBlobReader = legacyBlobReader;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrateOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            migrate();
+        } catch (RuntimeException e) {
+            // roda no ApplicationReadyEvent: uma falha aqui não pode derrubar a aplicação
+            log.warn("Resource blob migration did not run", e);
+        }
+    }
+
+    public int migrate() {
+        Optional<String> columnType = legacyBlobReader.legacyColumnType();
+        if (columnType.isEmpty()) {
+            return 0;
+        }
+
+        // o Hibernate não cria mais a coluna, mas ela continua NOT NULL nos bancos antigos
+        if (legacyColumnRequired()) {
+            jdbcTemplate.execute("ALTER TABLE resources ALTER COLUMN file_data DROP NOT NULL");
+        }
+
+        boolean largeObject = "oid".equalsIgnoreCase(columnType.get());
+        int migrated = 0;
+        int skipped = 0;
+        UUID after = new UUID(0, 0);
+        BatchResult batch;
+        do {
+            UUID from = after;
+            batch = transactionTemplate.execute(status -> migrateBatch(largeObject, from));
+            if (batch == null) {
+                break;
+            }
+            migrated += batch.moved();
+            skipped += batch.scanned() - batch.moved();
+            after = batch.lastId();
+        } while (batch.scanned() > 0);
+
+        if (migrated > 0) {
+            log.info("Moved {} resources from the file_data column to the blob store", migrated);
+        }
+        if (skipped > 0) {
+            log.warn("Left {} resources in the file_data column after failures; they are retried on the next startup", skipped);
+        }
+        return migrated;
+    }
+
+    private boolean legacyColumnRequired() {
+        return jdbcTemplate.queryForList(
+                "SELECT is_nullable FROM information_schema.columns WHERE table_name = 'resources' AND column_name = 'file_data'",
+                String.class).stream().anyMatch("NO"::equalsIgnoreCase);
+    }
+
+    /**
+     * Percorre as linhas em ordem de id a partir de {@code after}; uma linha que falha
+     * (conteúdo ilegível, disco cheio) é registrada e pulada, e os lotes seguintes continuam.
+     */
+    private BatchResult migrateBatch(boolean largeObject, UUID after) {
+        List<MigratedRow> rows = new ArrayList<>();
+        int[] scanned = {0};
+        UUID[] lastId = {after};
+
+        jdbcTemplate.query("""
+                        SELECT id, file_data FROM resources
+                         WHERE storage_key IS NULL AND file_data IS NOT NULL AND id > ?
+                         ORDER BY id LIMIT ?""",
+                rs -> {
+                    UUID id = rs.getObject("id", UUID.class);
+                    scanned[0]++;
+                    lastId[0] = id;
+                    // oid precisa ser lido como large object, dentro da transação
+                    Long oid = largeObject ? rs.getLong("file_data") : null;
+                    try (InputStream in = largeObject ? rs.getBlob("file_data").getBinaryStream() : rs.getBinaryStream("file_data")) {
+                        rows.add(new MigratedRow(id, oid, blobStore.put(in)));
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Failed to move resource {} to the blob store, skipping it", id, e);
+                    }
+                }, after, batchSize);
+
+        for (MigratedRow row : rows) {
+            jdbcTemplate.update("UPDATE resources SET storage_key = ?, content_hash = ?, size_bytes = ?, file_data = NULL WHERE id = ?",
+                    row.blob().getKey(), row.blob().getContentHash(), row.blob().getSizeBytes(), row.id());
+            if (row.oid() != null) {
+                jdbcTemplate.queryForObject("SELECT lo_unlink(?)", Integer.class, row.oid());
+            }
+        }
+        return new BatchResult(rows.size(), scanned[0], lastId[0]);
+    }
+
+    private record MigratedRow(UUID id, Long oid, StoredBlob blob) {}
+
+    private record BatchResult(int moved, int scanned, UUID lastId) {}
+}
@@ -0,0 +1,20 @@
+package com.studybuddy.Service.Storage;
+
+/**
+ * Referência a um blob gravado no {@link BlobStore}.
+ */
+public class StoredBlob {
+    private final String key;
+    private final String contentHash;
+    private final long sizeBytes;
+
+    public StoredBlob(String key, String contentHash, long sizeBytes) {
+        this.key = key;
+        this.contentHash = contentHash;
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getKey() { return key; }
+    public String getContentHash() { return contentHash; }
+    public long getSizeBytes() { return sizeBytes; }
+}
@@ -1,37 +1,48 @@
 package com.studybuddy.Service.Studyflow;
 
 import com.studybuddy.Dto.Studyflow.StudyflowTimeDto;
-import com.studybuddy.Entity.StudyflowEntity;
 import com.studybuddy.Exception.GenericException;
 import com.studybuddy.Repository.Studyflow.StudyflowEntityRepository;
-import jakarta.transaction.Transactional;
+import com.studybuddy.Service.Cache.LruCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Recebe os ticks de tempo do front. O studyflow é validado uma vez e, daí em diante,
+ * os ticks só somam no {@link TimeTickCoalescer}, que grava em lote. Os ids validados
+ * ficam num LRU limitado e saem dele quando o flush não encontra mais o studyflow.
+ */
 @Service
 public class AccumulateTimeService {
     private final StudyflowEntityRepository studyflowEntityRepository;
+    private final TimeTickCoalescer timeTickCoalescer;
+    private final LruCache<UUID, Boolean> knownStudyflows;
 
-    public AccumulateTimeService(StudyflowEntityRepository studyflowEntityRepository) {
+    public AccumulateTimeService(StudyflowEntityRepository studyflowEntityRepository, TimeTickCoalescer timeTickCoalescer,
+                                 @Value("${studybuddy.time.known-studyflows:10000}") int maxKnownStudyflows) {
         this.studyflowEntityRepository = studyflowEntityRepository;
+        this.timeTickCoalescer = timeTickCoalescer;
+        this.knownStudyflows = new LruCache<>(maxKnownStudyflows, maxKnownStudyflows, known -> 1);
+        timeTickCoalescer.onMissingStudyflow(knownStudyflows::invalidate);
     }
 
 
-    @Transactional
     public void accumulateTime(StudyflowTimeDto dto) {
         UUID id = dto.getStudyflowId();
         if (id == null) throw new GenericException("studyflowId obrigatório");
-
-
-        StudyflowEntity entity = studyflowEntityRepository.findById(id)
-                .orElseThrow(() -> new GenericException("Studyflow não encontrado: " + id));
-
-        Long current = entity.getTimeSpent() == null ? 0 : entity.getTimeSpent();
-        entity.setTimeSpent(current + dto.getMillis());
-
-        studyflowEntityRepository.save(entity);
+        if (dto.getMillis() == null) throw new GenericException("millis obrigatório");
+
+        if (knownStudyflows.get(id) == null) {
+            if (!studyflowEntityRepository.existsById(id)) {
+                throw new GenericException("Studyflow não encontrado: " + id);
+            }
+            knownStudyflows.put(id, Boolean.TRUE);
+        }
+
+        if (dto.getMillis() != 0) {
+            timeTickCoalescer.add(id, dto.getMillis());
+        }
     }
 }
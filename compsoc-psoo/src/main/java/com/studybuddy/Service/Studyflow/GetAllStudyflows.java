@@ -1,10 +1,13 @@
 package com.studybuddy.Service.Studyflow;
 
 import com.studybuddy.Dto.Studyflow.StudyflowGetDto;
+import com.studybuddy.Dto.Studyflow.StudyflowPageDto;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface GetAllStudyflows {
     List<StudyflowGetDto> get(UUID studentId);
+
+    StudyflowPageDto getPage(UUID studentId, String cursor, Integer limit, String title, String tag);
 }
@@ -1,64 +1,118 @@
 package com.studybuddy.Service.Studyflow;
 
 import com.studybuddy.Dto.Studyflow.StudyflowGetDto;
-import com.studybuddy.Entity.IndicatorEntity;
-import com.studybuddy.Entity.StudyflowEntity;
+import com.studybuddy.Dto.Studyflow.StudyflowPageDto;
 import com.studybuddy.Exception.GenericException;
-import com.studybuddy.Repository.Studyflow.Indicator.IndicatorEntityRepository;
 import com.studybuddy.Repository.Studyflow.StudyflowEntityRepository;
-import jakarta.transaction.Transactional;
+import com.studybuddy.Repository.Studyflow.StudyflowSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class GetAllStudyflowsImpl implements GetAllStudyflows {
     private final StudyflowEntityRepository studyflowEntityRepository;
-    private final IndicatorEntityRepository indicatorEntityRepository;
+    private final GetMainTagsService getMainTagsService;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy")
             .withZone(ZoneId.systemDefault());
 
 
-    public GetAllStudyflowsImpl(StudyflowEntityRepository studyflowEntityRepository, IndicatorEntityRepository indicatorEntityRepository) {
+    public GetAllStudyflowsImpl(StudyflowEntityRepository studyflowEntityRepository, GetMainTagsService getMainTagsService) {
         this.studyflowEntityRepository = studyflowEntityRepository;
-        this.indicatorEntityRepository = indicatorEntityRepository;
+        this.getMainTagsService = getMainTagsService;
     }
 
+    /**
+     * Duas consultas, independente da quantidade de studyflows: os cards e as tags
+     * principais de todos eles. Studyflow ainda sem indicadores vem com a lista vazia.
+     */
     @Override
-    @Transactional
     public List<StudyflowGetDto> get(UUID studentId) {
-        List<StudyflowEntity> studyflowEntityList = studyflowEntityRepository.findAllByStudentEntity_Id(studentId);
+        List<StudyflowSummary> studyflowSummaryList = studyflowEntityRepository.findSummariesByStudentId(studentId);
 
-        if(studyflowEntityList.isEmpty()){
+        if(studyflowSummaryList.isEmpty()){
             return List.of();
         }
 
+        return toDtos(studyflowSummaryList);
+    }
+
+    /**
+     * Página em ordem decrescente de criação. O cursor é opaco para o front: codifica o
+     * (createdAt, id) do último item, então cada página custa o mesmo que a primeira.
+     */
+    @Override
+    public StudyflowPageDto getPage(UUID studentId, String cursor, Integer limit, String title, String tag) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageCursor after = cursor == null || cursor.isBlank() ? PageCursor.FIRST : PageCursor.decode(cursor);
+        String titlePattern = title == null || title.isBlank() ? "%" : "%" + escapeLike(title.trim().toLowerCase()) + "%";
+        boolean anyTag = tag == null || tag.isBlank();
+
+        List<StudyflowSummary> rows = studyflowEntityRepository.findSummaryPage(studentId, after.createdAt(), after.id(),
+                titlePattern, anyTag, anyTag ? "" : tag.trim().toLowerCase(), Limit.of(pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<StudyflowSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        StudyflowPageDto studyflowPageDto = new StudyflowPageDto();
+        studyflowPageDto.setItems(page.isEmpty() ? List.of() : toDtos(page));
+        if (hasMore) {
+            StudyflowSummary last = page.get(page.size() - 1);
+            studyflowPageDto.setNextCursor(new PageCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return studyflowPageDto;
+    }
+
+    private List<StudyflowGetDto> toDtos(List<StudyflowSummary> studyflowSummaryList) {
+        Map<UUID, List<String>> tagsByStudyflow = getMainTagsService.getTags(
+                studyflowSummaryList.stream().map(StudyflowSummary::getId).toList());
+
         List<StudyflowGetDto> studyflowGetDtoList = new ArrayList<>();
-        for (StudyflowEntity studyflowEntity : studyflowEntityList) {
+        for (StudyflowSummary studyflowSummary : studyflowSummaryList) {
             StudyflowGetDto studyflowGetDto = new StudyflowGetDto();
-            studyflowGetDto.setDescription(studyflowEntity.getDescription());
-            studyflowGetDto.setCreationDate(formatter.format(studyflowEntity.getCreatedAt()));
-            studyflowGetDto.setTitle(studyflowEntity.getTitle());
-            studyflowGetDto.setMainTags(getTagsByStudyflowEntity(studyflowEntity.getId()));
-            studyflowGetDto.setId(studyflowEntity.getId());
+            studyflowGetDto.setDescription(studyflowSummary.getDescription());
+            studyflowGetDto.setCreationDate(formatter.format(studyflowSummary.getCreatedAt()));
+            studyflowGetDto.setTitle(studyflowSummary.getTitle());
+            studyflowGetDto.setMainTags(tagsByStudyflow.getOrDefault(studyflowSummary.getId(), List.of()));
+            studyflowGetDto.setId(studyflowSummary.getId());
             studyflowGetDtoList.add(studyflowGetDto);
         }
         return studyflowGetDtoList;
     }
 
-    private List<String> getTagsByStudyflowEntity(UUID studyflowEntityId) {
-        List<IndicatorEntity> indicatorEntityList = indicatorEntityRepository.findAllByStudyflowId(studyflowEntityId);
-        List<String> tags = new ArrayList<>();
-        if (indicatorEntityList.isEmpty()){
-            throw new GenericException("nao encontrado indicadores para esse studflow");
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private record PageCursor(Instant createdAt, UUID id) {
+        // acima de qualquer createdAt real, para a primeira página usar a mesma consulta
+        static final PageCursor FIRST = new PageCursor(Instant.parse("9999-12-31T23:59:59Z"), new UUID(-1L, -1L));
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
         }
-        for (IndicatorEntity indicatorEntity : indicatorEntityList) {
-            tags.add(indicatorEntity.getIndicatorTag());
+
+        static PageCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new PageCursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new GenericException("cursor invalido");
+            }
         }
-        return tags;
     }
 }
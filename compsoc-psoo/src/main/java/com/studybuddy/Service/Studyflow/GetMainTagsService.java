@@ -1,32 +1,45 @@
 package com.studybuddy.Service.Studyflow;
 
-import com.studybuddy.Entity.IndicatorEntity;
 import com.studybuddy.Exception.GenericException;
 import com.studybuddy.Repository.Studyflow.Indicator.IndicatorEntityRepository;
+import com.studybuddy.Repository.Studyflow.Indicator.StudyflowTag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 public class GetMainTagsService {
     private final IndicatorEntityRepository indicatorEntityRepository;
+    private final int mainTagsLimit;
 
-    public GetMainTagsService(IndicatorEntityRepository indicatorEntityRepository) {
+    public GetMainTagsService(IndicatorEntityRepository indicatorEntityRepository,
+                              @Value("${studybuddy.studyflow.main-tags:5}") int mainTagsLimit) {
         this.indicatorEntityRepository = indicatorEntityRepository;
+        this.mainTagsLimit = mainTagsLimit;
     }
 
     List<String> getTags(UUID studyflowId){
-        List<IndicatorEntity> indicatorEntityList = indicatorEntityRepository.findAllByStudyflowId(studyflowId);
-        if (indicatorEntityList.isEmpty()){
+        List<String> tags = getTags(List.of(studyflowId)).getOrDefault(studyflowId, List.of());
+        if (tags.isEmpty()){
             throw new GenericException("erro");
         }
-        List<String> tags = new ArrayList<>();
-        for (int i = 0; i<5; i++){
-            tags.add(indicatorEntityList.get(i).getIndicatorTag());
-        }
         return tags;
     }
 
+    /**
+     * Tags principais de vários studyflows numa consulta só; studyflows ainda sem
+     * indicadores ficam fora do mapa.
+     */
+    Map<UUID, List<String>> getTags(Collection<UUID> studyflowIds) {
+        if (studyflowIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, List<String>> tagsByStudyflow = new HashMap<>();
+        for (StudyflowTag tag : indicatorEntityRepository.findTopTagsByStudyflowIds(studyflowIds, mainTagsLimit)) {
+            tagsByStudyflow.computeIfAbsent(tag.getStudyflowId(), id -> new ArrayList<>()).add(tag.getIndicatorTag());
+        }
+        return tagsByStudyflow;
+    }
+
 }
@@ -1,6 +1,6 @@
 package com.studybuddy.Service.Studyflow;
 
-import com.studybuddy.Dto.Studyflow.ResourceDto;
+import com.studybuddy.Dto.Studyflow.ResourceSummaryDto;
 import com.studybuddy.Dto.Studyflow.StudyflowFullDto;
 import com.studybuddy.Entity.StudyflowEntity;
 import com.studybuddy.Exception.GenericException;
@@ -37,7 +37,7 @@ public class GetStudyflowServiceImpl implements GetStudyflowService {
         StudyflowFullDto studyflowFullDto = new StudyflowFullDto();
         studyflowFullDto.setDescription(studyflowEntityOptional.get().getDescription());
         studyflowFullDto.setId(studyflowEntityOptional.get().getId());
-        studyflowFullDto.setResources(getResourceService.getAll(studyflowEntityOptional.get().getId()));
+        studyflowFullDto.setResources(getResourceService.getSummaries(studyflowEntityOptional.get().getId()));
         findIndicator(studyflowFullDto.getResources(), studyflowEntityOptional.get());
         studyflowFullDto.setMainTags(getMainTagsService.getTags(studyflowId));
         studyflowFullDto.setTitle(studyflowEntityOptional.get().getTitle());
@@ -45,13 +45,14 @@ public class GetStudyflowServiceImpl implements GetStudyflowService {
         return studyflowFullDto;
     }
 
-    void findIndicator(List<ResourceDto> studyflowFullDto, StudyflowEntity studyflowEntity) {
+    void findIndicator(List<ResourceSummaryDto> studyflowFullDto, StudyflowEntity studyflowEntity) {
         if (studyflowEntity.getIndicator() == null){
             return;
         }
 
-        for(ResourceDto resourceDto : studyflowFullDto) {
-            if (studyflowEntity.getIndicator().getFilename().equals(resourceDto.getFilename())){
+        UUID indicatorId = studyflowEntity.getIndicator().getId();
+        for(ResourceSummaryDto resourceDto : studyflowFullDto) {
+            if (indicatorId.equals(resourceDto.getId())){
                 resourceDto.setIndicator(true);
             }
         }
@@ -7,6 +7,7 @@ import com.studybuddy.Entity.StudyflowEntity;
 import com.studybuddy.Exception.GenericException;
 import com.studybuddy.Repository.Studyflow.Indicator.IndicatorEntityRepository;
 import com.studybuddy.Repository.Studyflow.StudyflowEntityRepository;
+import com.studybuddy.Service.Studyflow.Indicator.IndicatorDeltaBuffer;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -18,33 +19,46 @@ import java.util.UUID;
 public class GetStudyflowStatusImpl implements GetStudyflowStatus {
     private final StudyflowEntityRepository studyflowEntityRepository;
     private final IndicatorEntityRepository indicatorEntityRepository;
+    private final IndicatorDeltaBuffer indicatorDeltaBuffer;
+    private final TimeTickCoalescer timeTickCoalescer;
 
-    public GetStudyflowStatusImpl(StudyflowEntityRepository studyflowEntityRepository, IndicatorEntityRepository indicatorEntityRepository) {
+    public GetStudyflowStatusImpl(StudyflowEntityRepository studyflowEntityRepository, IndicatorEntityRepository indicatorEntityRepository,
+                                  IndicatorDeltaBuffer indicatorDeltaBuffer, TimeTickCoalescer timeTickCoalescer) {
         this.studyflowEntityRepository = studyflowEntityRepository;
         this.indicatorEntityRepository = indicatorEntityRepository;
+        this.indicatorDeltaBuffer = indicatorDeltaBuffer;
+        this.timeTickCoalescer = timeTickCoalescer;
     }
 
     @Override
     public StudyflowStatusDto get(UUID studyflowId) {
         List<IndicatorDto> indicatorDtoList = new ArrayList();
         StudyflowStatusDto studyflowStatusDto = new StudyflowStatusDto();
-        Optional<StudyflowEntity> studyflowEntityOptional = studyflowEntityRepository.findById(studyflowId);
+        // o tempo gravado é lido junto com o pendente, para o flush não contar o mesmo tick duas vezes
+        TimeTickCoalescer.Snapshot<Optional<StudyflowEntity>> timeSnapshot =
+                timeTickCoalescer.read(studyflowId, () -> studyflowEntityRepository.findById(studyflowId));
+        Optional<StudyflowEntity> studyflowEntityOptional = timeSnapshot.persisted();
         if (studyflowEntityOptional.isEmpty()){
             throw new GenericException("nao encontrado");
         }
-        List<IndicatorEntity> indicatorEntityList = indicatorEntityRepository.findAllByStudyflowId(studyflowEntityOptional.get().getId());
+        // soma as respostas que ainda estão no buffer, para o status não atrasar em relação ao flush
+        IndicatorDeltaBuffer.Snapshot<List<IndicatorEntity>> snapshot = indicatorDeltaBuffer.read(studyflowId,
+                () -> indicatorEntityRepository.findAllByStudyflowId(studyflowEntityOptional.get().getId()));
+        List<IndicatorEntity> indicatorEntityList = snapshot.persisted();
         if (indicatorEntityList.isEmpty()) {
             throw new GenericException("indicadores ainda nao gerados");
         }
         for (IndicatorEntity indicatorEntity : indicatorEntityList){
             IndicatorDto indicatorDto = new IndicatorDto();
             indicatorDto.setIndicatorTag(indicatorEntity.getIndicatorTag());
-            indicatorDto.setCorrectCount(indicatorEntity.getCorrectCount());
-            indicatorDto.setAnsweredCount(indicatorEntity.getAnsweredCount());
+            IndicatorDeltaBuffer.IndicatorCounts pending = snapshot.pendingFor(indicatorEntity.getIndicatorTag());
+            indicatorDto.setCorrectCount(indicatorEntity.getCorrectCount() + pending.correct());
+            indicatorDto.setAnsweredCount(indicatorEntity.getAnsweredCount() + pending.answered());
+            indicatorDto.setReviewCount((indicatorEntity.getReviewCount() != null ? indicatorEntity.getReviewCount() : 0) + pending.reviewed());
             indicatorDtoList.add(indicatorDto);
         }
         studyflowStatusDto.setIndicatorDtoList(indicatorDtoList);
-        studyflowStatusDto.setTimeSpent(studyflowEntityOptional.get().getTimeSpent());
+        studyflowStatusDto.setTimeSpent(timeSnapshot.plusPending(studyflowEntityOptional.get().getTimeSpent()));
         return studyflowStatusDto;
     }
 }
@@ -1,8 +1,11 @@
 package com.studybuddy.Service.Studyflow.Indicator;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface GenerateIndicatorService {
     void generate(UUID studyflowId);
 
+    CompletableFuture<Void> generateAsync(UUID studyflowId);
+
 }
@@ -6,12 +6,16 @@ import com.studybuddy.Exception.EntityNotFoundException;
 import com.studybuddy.Repository.Studyflow.Indicator.IndicatorEntityRepository;
 import com.studybuddy.Repository.Studyflow.StudyflowEntityRepository;
 import com.studybuddy.Service.AI.AiChatClient;
+import com.studybuddy.Service.AI.AiGenerationExecutor;
+import com.studybuddy.Service.AI.GenerationSingleFlight;
 import com.studybuddy.Service.AI.Strategy.IndicatorFromResourcesPromptStrategy;
 import com.studybuddy.Service.AI.Strategy.IndicatorFromTextPromptStrategy;
 import com.studybuddy.Service.AI.Strategy.PromptContext;
 import com.studybuddy.Service.AI.Strategy.PromptStrategy;
 import com.studybuddy.Service.AI.Template.AbstractAiGenerationService;
+import com.studybuddy.Service.AI.Template.MapReduceSummarizer;
 import com.studybuddy.Service.Extractor.ExtractTextFromResources;
+import com.studybuddy.Service.Extractor.ExtractedDocument;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -29,12 +33,15 @@ public class GenerateIndicatorServiceImpl extends AbstractAiGenerationService<Li
 
     public GenerateIndicatorServiceImpl(
             AiChatClient aiChatClient,
+            AiGenerationExecutor generationExecutor,
+            GenerationSingleFlight singleFlight,
+            MapReduceSummarizer mapReduce,
             ExtractTextFromResources extractTextFromResources,
             StudyflowEntityRepository studyflowEntityRepository,
             IndicatorEntityRepository indicatorEntityRepository,
             IndicatorFromTextPromptStrategy textStrategy,
             IndicatorFromResourcesPromptStrategy resourceStrategy) {
-        super(aiChatClient);
+        super(aiChatClient, generationExecutor, singleFlight, mapReduce);
         this.extractTextFromResources = extractTextFromResources;
         this.studyflowEntityRepository = studyflowEntityRepository;
         this.indicatorEntityRepository = indicatorEntityRepository;
@@ -47,14 +54,20 @@ public class GenerateIndicatorServiceImpl extends AbstractAiGenerationService<Li
         log.debug("Gathering context for studyflow: {}", studyflowId);
         
         String indicatorText = extractTextFromResources.getIndicatorText(studyflowId);
-        List<String> resourceContents = extractTextFromResources.getTextFromAllResources(studyflowId);
+        List<ExtractedDocument> documents = extractTextFromResources.streamDocuments(studyflowId).toList();
         
         return PromptContext.builder()
                 .indicatorText(indicatorText)
-                .resourceContents(resourceContents)
+                .documents(documents)
                 .build();
     }
 
+    @Override
+    protected boolean usesMapReduce(PromptContext context) {
+        // com indicador o prompt usa só o texto dele, não os documentos
+        return !context.hasIndicatorText();
+    }
+
     @Override
     protected PromptStrategy selectPromptStrategy(PromptContext context) {
         if (context.hasIndicatorText()) {
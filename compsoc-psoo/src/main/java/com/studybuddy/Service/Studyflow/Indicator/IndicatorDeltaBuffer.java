@@ -0,0 +1,282 @@
+package com.studybuddy.Service.Studyflow.Indicator;
+
+import com.studybuddy.Entity.AnswerEventEntity;
+import com.studybuddy.Repository.Studyflow.Indicator.AnswerEventEntityRepository;
+import com.studybuddy.Repository.Studyflow.Indicator.IndicatorEntityRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind dos contadores de indicadores. Cada resposta vira uma linha em
+ * {@code answer_events} (durável, na transação da resposta) e um delta em memória por
+ * studyflow e tag; o flush periódico soma os deltas com um UPDATE por grupo e apaga os
+ * eventos na mesma transação. Na subida, os eventos restantes são recarregados.
+ * <p>
+ * Os UPDATEs do flush rodam sem lock; só o commit e o desconto dos deltas ficam sob o
+ * lock de escrita, e é o único trecho que exclui as leituras. {@link #read} lê de forma
+ * otimista e repete se um commit cruzou a leitura, então nunca conta a mesma resposta
+ * duas vezes nem a perde. Quem responde ({@link #append}) nunca espera pelo flush.
+ */
+@Component
+@DependsOn("questionColumnsMigration")
+public class IndicatorDeltaBuffer implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(IndicatorDeltaBuffer.class);
+
+    private final AnswerEventEntityRepository answerEventEntityRepository;
+    private final IndicatorEntityRepository indicatorEntityRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final int batchSize;
+
+    private final ConcurrentLinkedDeque<PendingAnswer> pending = new ConcurrentLinkedDeque<>();
+    private final ConcurrentHashMap<UUID, ConcurrentHashMap<String, IndicatorCounts>> deltas = new ConcurrentHashMap<>();
+    private final StampedLock commitLock = new StampedLock();
+
+    public IndicatorDeltaBuffer(AnswerEventEntityRepository answerEventEntityRepository,
+                                IndicatorEntityRepository indicatorEntityRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${studybuddy.answers.flush-batch-size:500}") int batchSize) {
+        this.answerEventEntityRepository = answerEventEntityRepository;
+        this.indicatorEntityRepository = indicatorEntityRepository;
+        this.transactionManager = transactionManager;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public record IndicatorCounts(int answered, int correct, int reviewed) {
+        public static final IndicatorCounts ZERO = new IndicatorCounts(0, 0, 0);
+
+        IndicatorCounts plus(int answered, int correct, int reviewed) {
+            return new IndicatorCounts(this.answered + answered, this.correct + correct, this.reviewed + reviewed);
+        }
+
+        boolean isZero() {
+            return answered == 0 && correct == 0 && reviewed == 0;
+        }
+    }
+
+    /**
+     * Resultado de uma leitura do banco junto com os deltas ainda não aplicados a ele.
+     */
+    public record Snapshot<T>(T persisted, Map<String, IndicatorCounts> pending) {
+        public IndicatorCounts pendingFor(String tag) {
+            return pending.getOrDefault(tag, IndicatorCounts.ZERO);
+        }
+    }
+
+    private record PendingAnswer(long eventId, UUID studyflowId, List<String> tags, boolean correct, boolean review) {
+    }
+
+    /**
+     * Registra a resposta na fila durável; {@code review} indica que a questão já tinha
+     * sido respondida antes, e conta no reviewCount dos indicadores. Dentro de uma transação, o delta só entra na
+     * memória depois do commit, para que um rollback não deixe contagem fantasma.
+     */
+    public void append(UUID studyflowId, UUID questionId, List<String> tags, boolean correct, boolean review) {
+        List<String> tagList = distinctTags(tags);
+        if (tagList.isEmpty()) {
+            return;
+        }
+
+        AnswerEventEntity event = new AnswerEventEntity();
+        event.setStudyflowId(studyflowId);
+        event.setQuestionId(questionId);
+        event.setTags(tagList);
+        event.setCorrect(correct);
+        event.setReview(review);
+        PendingAnswer answer = new PendingAnswer(answerEventEntityRepository.save(event).getId(), studyflowId, tagList, correct, review);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(answer);
+                }
+            });
+        } else {
+            record(answer);
+        }
+    }
+
+    /**
+     * Executa a leitura do banco e devolve, junto, os deltas pendentes do studyflow. Se um
+     * flush fizer commit durante a leitura, ela é repetida; nenhum lock fica preso
+     * enquanto o banco responde.
+     */
+    public <T> Snapshot<T> read(UUID studyflowId, Supplier<T> databaseRead) {
+        while (true) {
+            long stamp = commitLock.tryOptimisticRead();
+            if (stamp == 0) {
+                // commit em andamento: espera ele terminar, o que não depende de conexão nova
+                commitLock.unlockRead(commitLock.readLock());
+                continue;
+            }
+            T persisted = databaseRead.get();
+            Map<String, IndicatorCounts> studyflowDeltas = deltas.get(studyflowId);
+            Map<String, IndicatorCounts> pendingDeltas = studyflowDeltas == null ? Map.of() : Map.copyOf(studyflowDeltas);
+            if (commitLock.validate(stamp)) {
+                return new Snapshot<>(persisted, pendingDeltas);
+            }
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Recarrega os eventos que não chegaram a ser aplicados. Roda antes de o servidor web
+     * e os agendamentos subirem, então nenhuma resposta nova ou flush corre junto.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            long lastId = 0;
+            int replayed = 0;
+            List<AnswerEventEntity> page;
+            do {
+                page = answerEventEntityRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize));
+                for (AnswerEventEntity event : page) {
+                    record(new PendingAnswer(event.getId(), event.getStudyflowId(), distinctTags(event.getTags()),
+                            event.isCorrect(), Boolean.TRUE.equals(event.getReview())));
+                    lastId = event.getId();
+                }
+                replayed += page.size();
+            } while (page.size() == batchSize);
+
+            if (replayed > 0) {
+                log.info("Replayed {} unflushed answer events", replayed);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Answer events could not be replayed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${studybuddy.answers.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        try {
+            int flushed;
+            do {
+                flushed = flushBatch();
+            } while (flushed == batchSize);
+        } catch (DataAccessException | TransactionException e) {
+            // os eventos continuam na tabela e na fila; o próximo flush (ou a próxima subida) tenta de novo
+            log.warn("Answer events left unflushed: {}", pending.size(), e);
+        }
+    }
+
+    /**
+     * O delta entra antes da fila, então o flush nunca aplica uma resposta que as leituras
+     * ainda não somam. Roda no afterCommit da resposta, com a conexão dela ainda presa,
+     * por isso não pega lock nenhum.
+     */
+    private void record(PendingAnswer answer) {
+        addDeltas(answer, 1);
+        pending.addLast(answer);
+    }
+
+    private int flushBatch() {
+        List<PendingAnswer> batch = new ArrayList<>();
+        PendingAnswer answer;
+        while (batch.size() < batchSize && (answer = pending.pollFirst()) != null) {
+            batch.add(answer);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            TransactionStatus status = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+            try {
+                apply(batch);
+            } catch (RuntimeException e) {
+                transactionManager.rollback(status);
+                throw e;
+            }
+
+            // a conexão do flush já está aberta; o lock cobre só o commit e o desconto
+            long stamp = commitLock.writeLock();
+            try {
+                transactionManager.commit(status);
+                batch.forEach(applied -> addDeltas(applied, -1));
+            } finally {
+                commitLock.unlockWrite(stamp);
+            }
+        } catch (RuntimeException e) {
+            // devolve o lote na ordem original; os deltas continuam valendo para as leituras
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                pending.addFirst(batch.get(i));
+            }
+            throw e;
+        }
+
+        log.debug("Flushed {} answer events", batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Agrupa as tags que recebem os mesmos incrementos para usar um UPDATE por grupo.
+     */
+    private void apply(List<PendingAnswer> batch) {
+        Map<UUID, Map<String, IndicatorCounts>> totals = new HashMap<>();
+        for (PendingAnswer answer : batch) {
+            Map<String, IndicatorCounts> byTag = totals.computeIfAbsent(answer.studyflowId(), id -> new HashMap<>());
+            IndicatorCounts added = new IndicatorCounts(1, answer.correct() ? 1 : 0, answer.review() ? 1 : 0);
+            answer.tags().forEach(tag -> byTag.merge(tag, added,
+                    (current, more) -> current.plus(more.answered(), more.correct(), more.reviewed())));
+        }
+
+        totals.forEach((studyflowId, byTag) -> {
+            Map<IndicatorCounts, List<String>> groups = new HashMap<>();
+            byTag.forEach((tag, counts) -> groups.computeIfAbsent(counts, c -> new ArrayList<>()).add(tag));
+            groups.forEach((counts, tags) ->
+                    indicatorEntityRepository.incrementCounters(studyflowId, tags, counts.answered(), counts.correct(), counts.reviewed()));
+        });
+
+        answerEventEntityRepository.deleteAllByIdInBatch(batch.stream().map(PendingAnswer::eventId).toList());
+    }
+
+    private void addDeltas(PendingAnswer answer, int sign) {
+        int correct = answer.correct() ? sign : 0;
+        int reviewed = answer.review() ? sign : 0;
+        for (String tag : answer.tags()) {
+            deltas.compute(answer.studyflowId(), (id, byTag) -> {
+                ConcurrentHashMap<String, IndicatorCounts> counts = byTag != null ? byTag : new ConcurrentHashMap<>();
+                counts.compute(tag, (t, current) -> {
+                    IndicatorCounts updated = (current != null ? current : IndicatorCounts.ZERO).plus(sign, correct, reviewed);
+                    return updated.isZero() ? null : updated;
+                });
+                return counts.isEmpty() ? null : counts;
+            });
+        }
+    }
+
+    private static List<String> distinctTags(List<String> tags) {
+        if (tags == null) {
+            return List.of();
+        }
+        return tags.stream()
+                .filter(tag -> tag != null && !tag.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
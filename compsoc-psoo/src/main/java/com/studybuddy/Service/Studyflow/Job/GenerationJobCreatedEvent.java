@@ -0,0 +1,15 @@
+package com.studybuddy.Service.Studyflow.Job;
+
+import java.util.UUID;
+
+public class GenerationJobCreatedEvent {
+    private final UUID jobId;
+
+    public GenerationJobCreatedEvent(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+}
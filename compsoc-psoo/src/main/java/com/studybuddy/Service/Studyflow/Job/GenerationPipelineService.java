@@ -0,0 +1,17 @@
+package com.studybuddy.Service.Studyflow.Job;
+
+import com.studybuddy.Dto.Studyflow.Job.GenerationJobDto;
+
+import java.util.UUID;
+
+public interface GenerationPipelineService {
+    /**
+     * Registra um job para o studyflow. A execução (extração → indicadores → questões)
+     * começa em background depois do commit da transação atual.
+     */
+    UUID enqueue(UUID studyflowId);
+
+    GenerationJobDto getJob(UUID jobId);
+
+    GenerationJobDto getLatestJob(UUID studyflowId);
+}
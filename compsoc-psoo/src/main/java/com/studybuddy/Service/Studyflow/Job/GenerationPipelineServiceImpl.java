@@ -0,0 +1,216 @@
+package com.studybuddy.Service.Studyflow.Job;
+
+import com.studybuddy.Dto.Studyflow.Job.GenerationJobDto;
+import com.studybuddy.Entity.GenerationJobEntity;
+import com.studybuddy.Entity.GenerationJobStatus;
+import com.studybuddy.Entity.GenerationStage;
+import com.studybuddy.Exception.EntityNotFoundException;
+import com.studybuddy.Repository.Studyflow.Indicator.IndicatorEntityRepository;
+import com.studybuddy.Repository.Studyflow.Job.GenerationJobEntityRepository;
+import com.studybuddy.Repository.Studyflow.QuestionEntityRepository;
+import com.studybuddy.Service.AI.GenerationProgressTracker;
+import com.studybuddy.Service.Extractor.ExtractTextFromResources;
+import com.studybuddy.Service.Extractor.ExtractedDocument;
+import com.studybuddy.Service.Studyflow.Indicator.GenerateIndicatorService;
+import com.studybuddy.Service.Studyflow.Question.GenerateQuestionsService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class GenerationPipelineServiceImpl implements GenerationPipelineService {
+    private static final Logger log = LoggerFactory.getLogger(GenerationPipelineServiceImpl.class);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final GenerationJobEntityRepository generationJobEntityRepository;
+    private final QuestionEntityRepository questionEntityRepository;
+    private final IndicatorEntityRepository indicatorEntityRepository;
+    private final ExtractTextFromResources extractTextFromResources;
+    private final GenerateIndicatorService generateIndicatorService;
+    private final GenerateQuestionsService generateQuestionsService;
+    private final ApplicationEventPublisher publisher;
+    private final GenerationProgressTracker progressTracker;
+    private final ExecutorService executor;
+
+    public GenerationPipelineServiceImpl(GenerationJobEntityRepository generationJobEntityRepository,
+                                         QuestionEntityRepository questionEntityRepository,
+                                         IndicatorEntityRepository indicatorEntityRepository,
+                                         ExtractTextFromResources extractTextFromResources,
+                                         GenerateIndicatorService generateIndicatorService,
+                                         GenerateQuestionsService generateQuestionsService,
+                                         ApplicationEventPublisher publisher,
+                                         GenerationProgressTracker progressTracker,
+                                         @Value("${studybuddy.pipeline.threads:2}") int threads) {
+        this.generationJobEntityRepository = generationJobEntityRepository;
+        this.questionEntityRepository = questionEntityRepository;
+        this.indicatorEntityRepository = indicatorEntityRepository;
+        this.extractTextFromResources = extractTextFromResources;
+        this.generateIndicatorService = generateIndicatorService;
+        this.generateQuestionsService = generateQuestionsService;
+        this.publisher = publisher;
+        this.progressTracker = progressTracker;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "generation-pipeline-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public UUID enqueue(UUID studyflowId) {
+        GenerationJobEntity job = new GenerationJobEntity();
+        job.setStudyflowId(studyflowId);
+        GenerationJobEntity saved = generationJobEntityRepository.save(job);
+
+        publisher.publishEvent(new GenerationJobCreatedEvent(saved.getId()));
+        log.info("Enqueued generation job {} for studyflow {}", saved.getId(), studyflowId);
+        return saved.getId();
+    }
+
+    @Override
+    public GenerationJobDto getJob(UUID jobId) {
+        return generationJobEntityRepository.findById(jobId)
+                .map(this::toDto)
+                .orElseThrow(() -> new EntityNotFoundException("GenerationJob", jobId.toString()));
+    }
+
+    @Override
+    public GenerationJobDto getLatestJob(UUID studyflowId) {
+        return generationJobEntityRepository.findFirstByStudyflowIdOrderByCreatedAtDesc(studyflowId)
+                .map(this::toDto)
+                .orElseThrow(() -> new EntityNotFoundException("GenerationJob", "studyflow " + studyflowId));
+    }
+
+    // só dispara depois do commit, para o job enxergar os recursos já gravados
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobCreated(GenerationJobCreatedEvent event) {
+        executor.execute(() -> run(event.getJobId()));
+    }
+
+    // depois da migração de blobs, que também ouve o ApplicationReadyEvent
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void resumeUnfinishedJobs() {
+        try {
+            List<GenerationJobEntity> unfinished = generationJobEntityRepository.findAllByStatusInOrderByCreatedAtAsc(
+                    List.of(GenerationJobStatus.PENDING, GenerationJobStatus.RUNNING));
+            unfinished.forEach(job -> {
+                log.info("Resuming generation job {} at stage {}", job.getId(), job.getStage());
+                executor.execute(() -> run(job.getId()));
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not load unfinished generation jobs", e);
+        }
+    }
+
+    private void run(UUID jobId) {
+        GenerationJobEntity job = generationJobEntityRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            log.warn("Generation job {} disappeared before running", jobId);
+            return;
+        }
+
+        UUID studyflowId = job.getStudyflowId();
+        long start = System.currentTimeMillis();
+
+        try {
+            if (shouldRun(job, GenerationStage.EXTRACT)) {
+                advance(job, GenerationStage.EXTRACT);
+                long parsed = extractTextFromResources.streamDocuments(studyflowId)
+                        .filter(ExtractedDocument::hasText)
+                        .count();
+                log.info("Job {}: {} documents extracted for studyflow {}", jobId, parsed, studyflowId);
+            }
+
+            if (shouldRun(job, GenerationStage.INDICATORS)) {
+                advance(job, GenerationStage.INDICATORS);
+                // job retomado depois de salvar os indicadores e antes de avançar a etapa
+                if (indicatorEntityRepository.existsByStudyflowId(studyflowId)) {
+                    log.info("Job {}: studyflow {} already has indicators, skipping", jobId, studyflowId);
+                } else {
+                    generateIndicatorService.generate(studyflowId);
+                }
+            }
+
+            if (shouldRun(job, GenerationStage.QUESTIONS)) {
+                advance(job, GenerationStage.QUESTIONS);
+                if (questionEntityRepository.existsByStudyFlowId(studyflowId)) {
+                    log.info("Job {}: studyflow {} already has questions, skipping", jobId, studyflowId);
+                } else {
+                    generateQuestionsService.generate(studyflowId);
+                }
+            }
+
+            job.setStage(GenerationStage.DONE);
+            job.setStatus(GenerationJobStatus.COMPLETED);
+            touch(job);
+            log.info("Generation job {} completed in {}ms", jobId, System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            log.error("Generation job {} failed at stage {}", jobId, job.getStage(), e);
+            job.setStatus(GenerationJobStatus.FAILED);
+            job.setErrorMessage(truncate(e.getMessage()));
+            touch(job);
+        }
+    }
+
+    private boolean shouldRun(GenerationJobEntity job, GenerationStage stage) {
+        return job.getStage().ordinal() <= stage.ordinal();
+    }
+
+    private void advance(GenerationJobEntity job, GenerationStage stage) {
+        job.setStage(stage);
+        job.setStatus(GenerationJobStatus.RUNNING);
+        touch(job);
+    }
+
+    private void touch(GenerationJobEntity job) {
+        job.setUpdatedAt(Instant.now());
+        generationJobEntityRepository.save(job);
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private GenerationJobDto toDto(GenerationJobEntity job) {
+        GenerationJobDto dto = new GenerationJobDto();
+        dto.setId(job.getId());
+        dto.setStudyflowId(job.getStudyflowId());
+        dto.setStage(job.getStage());
+        dto.setStatus(job.getStatus());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setUpdatedAt(job.getUpdatedAt());
+        if (job.getStatus() == GenerationJobStatus.RUNNING) {
+            progressTracker.findLatest(job.getStudyflowId()).ifPresent(dto::setProgress);
+        }
+        return dto;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,6 +1,8 @@
 package com.studybuddy.Service.Studyflow.Overview;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface GenerateOverviewService {
     /**
@@ -17,4 +19,15 @@ public interface GenerateOverviewService {
      * @return bytes do PDF (application/pdf)
      */
     byte[] returnPdf(UUID studyflowId);
+
+    /**
+     * Versão não bloqueante de {@link #returnPdf(UUID)}.
+     */
+    CompletableFuture<byte[]> returnPdfAsync(UUID studyflowId);
+
+    /**
+     * Entrega o markdown do overview em trechos conforme a AI gera. Se o overview
+     * já existir, entrega o conteúdo salvo em um único trecho.
+     */
+    CompletableFuture<Void> streamMarkdown(UUID studyflowId, Consumer<String> onDelta);
 }
@@ -7,11 +7,17 @@ import com.studybuddy.Repository.Studyflow.Resource.ResourceEntityRepository;
 import com.studybuddy.entity.ResourceEntity;
 import com.studybuddy.Exception.ResourceProcessingException;
 import com.studybuddy.Service.AI.AiChatClient;
+import com.studybuddy.Service.AI.AiGenerationExecutor;
+import com.studybuddy.Service.AI.GenerationSingleFlight;
 import com.studybuddy.Service.AI.Strategy.OverviewFromResourcesPromptStrategy;
 import com.studybuddy.Service.AI.Strategy.PromptContext;
 import com.studybuddy.Service.AI.Strategy.PromptStrategy;
 import com.studybuddy.Service.AI.Template.AbstractAiGenerationService;
+import com.studybuddy.Service.AI.Template.MapReduceSummarizer;
 import com.studybuddy.Service.Extractor.ExtractTextFromResources;
+import com.studybuddy.Service.Extractor.ExtractedDocument;
+import com.studybuddy.Service.Storage.BlobStore;
+import com.studybuddy.Service.Storage.StoredBlob;
 import com.studybuddy.Service.Studyflow.Resource.GetResourceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,11 +30,17 @@ import com.vladsch.flexmark.html.HtmlRenderer;
 import com.vladsch.flexmark.util.data.MutableDataSet;
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @Service
 public class GenerateOverviewServiceImpl extends AbstractAiGenerationService<String> implements GenerateOverviewService {
@@ -41,33 +53,44 @@ public class GenerateOverviewServiceImpl extends AbstractAiGenerationService<Str
     private final PromptStrategy overviewStrategy;
     private final ExtractTextFromResources extractTextFromResources;
     private final ResourceEntityRepository resourceEntityRepository;
+    private final BlobStore blobStore;
 
     public GenerateOverviewServiceImpl(
             AiChatClient aiChatClient,
+            AiGenerationExecutor generationExecutor,
+            GenerationSingleFlight singleFlight,
+            MapReduceSummarizer mapReduce,
             GetResourceService resourceService,
             OverviewFromResourcesPromptStrategy overviewStrategy,
             ExtractTextFromResources extractTextFromResources,
-            ResourceEntityRepository resourceEntityRepository) {
-        super(aiChatClient);
+            ResourceEntityRepository resourceEntityRepository,
+            BlobStore blobStore) {
+        super(aiChatClient, generationExecutor, singleFlight, mapReduce);
         this.resourceService = resourceService;
         this.overviewStrategy = overviewStrategy;
         this.extractTextFromResources = extractTextFromResources;
         this.resourceEntityRepository = resourceEntityRepository;
+        this.blobStore = blobStore;
     }
 
     @Override
     protected PromptContext gatherContext(UUID studyflowId) {
         log.debug("Gathering context for overview generation, studyflow: {}", studyflowId);
 
-        List<String> resourceContents = extractTextFromResources.getTextFromAllResources(studyflowId);
+        List<ExtractedDocument> documents = extractTextFromResources.streamDocuments(studyflowId).toList();
         List<String> indicatorTags = extractTextFromResources.getProcessedIndicatorTags(studyflowId);
 
         return PromptContext.builder()
-                .resourceContents(resourceContents)
+                .documents(documents)
                 .existingIndicators(indicatorTags)
                 .build();
     }
 
+    @Override
+    protected boolean usesMapReduce(PromptContext context) {
+        return true;
+    }
+
     @Override
     protected PromptStrategy selectPromptStrategy(PromptContext context) {
         return overviewStrategy;
@@ -101,14 +124,20 @@ public class GenerateOverviewServiceImpl extends AbstractAiGenerationService<Str
             throw new ResourceProcessingException("Cannot persist null overview");
         }
 
-        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        StoredBlob blob;
+        try {
+            blob = blobStore.put(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new ResourceProcessingException("Failed to store overview for studyflow " + studyflowId, e);
+        }
 
         ResourceEntity resourceEntity = new ResourceEntity();
         resourceEntity.setFilename(OVERVIEW_FILENAME);
-        resourceEntity.setFileData(bytes);
+        resourceEntity.setStorageKey(blob.getKey());
+        resourceEntity.setContentHash(blob.getContentHash());
         resourceEntity.setStudyFlowId(studyflowId);
         resourceEntity.setMimeType("text/markdown");
-        resourceEntity.setSizeBytes(bytes.length);
+        resourceEntity.setSizeBytes(blob.getSizeBytes());
         resourceEntityRepository.save(resourceEntity);
 
         log.info("Persisted overview resource for studyflow {} (filename={})", studyflowId, OVERVIEW_FILENAME);
@@ -120,6 +149,47 @@ public class GenerateOverviewServiceImpl extends AbstractAiGenerationService<Str
         return generateAndReturnPdf(studyflowId);
     }
 
+    @Override
+    public CompletableFuture<byte[]> returnPdfAsync(UUID studyflowId) {
+        Optional<ResourceEntity> maybe = resourceEntityRepository.findByStudyFlowIdAndFilename(studyflowId, OVERVIEW_FILENAME);
+        if (maybe.isPresent()) {
+            log.info("Overview already exists for studyflow {} — skipping AI call", studyflowId);
+            return CompletableFuture.supplyAsync(() -> markdownResourceToPdf(maybe.get()), generationExecutor);
+        }
+
+        log.info("Overview not found for studyflow {} — invoking async AI generation", studyflowId);
+        return generateAsync(studyflowId)
+                .thenApplyAsync(ignored -> loadGeneratedPdf(studyflowId), generationExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Void> streamMarkdown(UUID studyflowId, Consumer<String> onDelta) {
+        Optional<ResourceEntity> maybe = resourceEntityRepository.findByStudyFlowIdAndFilename(studyflowId, OVERVIEW_FILENAME);
+        if (maybe.isPresent()) {
+            log.info("Overview already exists for studyflow {} — streaming stored markdown", studyflowId);
+            return CompletableFuture.runAsync(() -> onDelta.accept(readMarkdown(maybe.get())), generationExecutor);
+        }
+
+        // quem se junta a uma geração em andamento não recebe trechos; entrega o markdown salvo no fim
+        AtomicBoolean streamed = new AtomicBoolean();
+        return generateStreaming(studyflowId, delta -> {
+                    streamed.set(true);
+                    onDelta.accept(delta);
+                })
+                .thenRunAsync(() -> {
+                    if (!streamed.get()) {
+                        ResourceEntity generated = resourceEntityRepository.findByStudyFlowIdAndFilename(studyflowId, OVERVIEW_FILENAME)
+                                .orElseThrow(() -> new ResourceProcessingException("Overview was not persisted after AI generation for studyflow " + studyflowId));
+                        onDelta.accept(readMarkdown(generated));
+                    }
+                }, generationExecutor);
+    }
+
+    @Override
+    protected boolean isAlreadyGenerated(UUID studyflowId) {
+        return resourceEntityRepository.existsByStudyFlowIdAndFilename(studyflowId, OVERVIEW_FILENAME);
+    }
+
     private byte[] generateAndReturnPdf(UUID studyflowId) {
         Optional<ResourceEntity> maybe = resourceEntityRepository.findByStudyFlowIdAndFilename(studyflowId, OVERVIEW_FILENAME);
         if (maybe.isPresent()) {
@@ -130,18 +200,30 @@ public class GenerateOverviewServiceImpl extends AbstractAiGenerationService<Str
         log.info("Overview not found for studyflow {} — invoking AI generation", studyflowId);
         super.generate(studyflowId);
 
+        return loadGeneratedPdf(studyflowId);
+    }
+
+    private byte[] loadGeneratedPdf(UUID studyflowId) {
         ResourceEntity generated = resourceEntityRepository.findByStudyFlowIdAndFilename(studyflowId, OVERVIEW_FILENAME)
                 .orElseThrow(() -> new ResourceProcessingException("Overview was not persisted after AI generation for studyflow " + studyflowId));
 
         return markdownResourceToPdf(generated);
     }
 
+    private String readMarkdown(ResourceEntity resourceEntity) {
+        try (InputStream in = blobStore.open(resourceEntity.getStorageKey())) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ResourceProcessingException("Failed to read stored overview " + resourceEntity.getId(), e);
+        }
+    }
+
     private byte[] markdownResourceToPdf(ResourceEntity resourceEntity) {
-        if (resourceEntity == null || resourceEntity.getFileData() == null || resourceEntity.getFileData().length == 0) {
+        if (resourceEntity == null || resourceEntity.getStorageKey() == null || resourceEntity.getSizeBytes() == 0) {
             throw new ResourceProcessingException("No markdown content available to convert to PDF");
         }
 
-        String markdown = new String(resourceEntity.getFileData(), StandardCharsets.UTF_8);
+        String markdown = readMarkdown(resourceEntity);
         if (!StringUtils.hasText(markdown)) {
             throw new ResourceProcessingException("Markdown is empty");
         }
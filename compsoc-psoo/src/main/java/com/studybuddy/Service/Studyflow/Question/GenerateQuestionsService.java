@@ -1,7 +1,10 @@
 package com.studybuddy.Service.Studyflow.Question;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface GenerateQuestionsService {
     void generate(UUID studyflowId);
+
+    CompletableFuture<Void> generateAsync(UUID studyflowId);
 }
@@ -8,12 +8,16 @@ import com.studybuddy.Exception.EntityNotFoundException;
 import com.studybuddy.Repository.Studyflow.QuestionEntityRepository;
 import com.studybuddy.Repository.Studyflow.StudyflowEntityRepository;
 import com.studybuddy.Service.AI.AiChatClient;
+import com.studybuddy.Service.AI.AiGenerationExecutor;
+import com.studybuddy.Service.AI.GenerationSingleFlight;
 import com.studybuddy.Service.AI.AiRequest;
 import com.studybuddy.Service.AI.Strategy.PromptContext;
 import com.studybuddy.Service.AI.Strategy.PromptStrategy;
 import com.studybuddy.Service.AI.Strategy.QuestionGenerationPromptStrategy;
-import com.studybuddy.Service.AI.Template.AbstractAiGenerationService;
+import com.studybuddy.Service.AI.Template.AbstractStreamingAiGenerationService;
+import com.studybuddy.Service.AI.Template.MapReduceSummarizer;
 import com.studybuddy.Service.Extractor.ExtractTextFromResources;
+import com.studybuddy.Service.Extractor.ExtractedDocument;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -21,7 +25,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
-public class GenerateQuestionsServiceImpl extends AbstractAiGenerationService<List<QuestionEntity>>
+public class GenerateQuestionsServiceImpl extends AbstractStreamingAiGenerationService<List<QuestionEntity>>
         implements GenerateQuestionsService {
 
     private static final String ANSWERS_FIELD = "answers";
@@ -30,33 +34,44 @@ public class GenerateQuestionsServiceImpl extends AbstractAiGenerationService<Li
     private final StudyflowEntityRepository studyflowEntityRepository;
     private final QuestionEntityRepository questionEntityRepository;
     private final QuestionGenerationPromptStrategy questionStrategy;
+    private final QuestionViewCache questionViewCache;
 
     public GenerateQuestionsServiceImpl(
             AiChatClient aiChatClient,
+            AiGenerationExecutor generationExecutor,
+            GenerationSingleFlight singleFlight,
+            MapReduceSummarizer mapReduce,
             ExtractTextFromResources extractTextFromResources,
             StudyflowEntityRepository studyflowEntityRepository,
             QuestionEntityRepository questionEntityRepository,
-            QuestionGenerationPromptStrategy questionStrategy) {
-        super(aiChatClient);
+            QuestionGenerationPromptStrategy questionStrategy,
+            QuestionViewCache questionViewCache) {
+        super(aiChatClient, generationExecutor, singleFlight, mapReduce);
         this.extractTextFromResources = extractTextFromResources;
         this.studyflowEntityRepository = studyflowEntityRepository;
         this.questionEntityRepository = questionEntityRepository;
         this.questionStrategy = questionStrategy;
+        this.questionViewCache = questionViewCache;
     }
 
     @Override
     protected PromptContext gatherContext(UUID studyflowId) {
         log.debug("Gathering context for question generation, studyflow: {}", studyflowId);
 
-        List<String> resourceContents = extractTextFromResources.getTextFromAllResources(studyflowId);
+        List<ExtractedDocument> documents = extractTextFromResources.streamDocuments(studyflowId).toList();
         List<String> indicatorTags = extractTextFromResources.getProcessedIndicatorTags(studyflowId);
 
         return PromptContext.builder()
-                .resourceContents(resourceContents)
+                .documents(documents)
                 .existingIndicators(indicatorTags)
                 .build();
     }
 
+    @Override
+    protected boolean usesMapReduce(PromptContext context) {
+        return true;
+    }
+
     @Override
     protected PromptStrategy selectPromptStrategy(PromptContext context) {
         log.debug("Using question generation strategy");
@@ -66,10 +81,12 @@ public class GenerateQuestionsServiceImpl extends AbstractAiGenerationService<Li
     @Override
     protected AiRequest buildAiRequest(String promptContent) {
         return AiRequest.builder()
+                .model(getModel())
+                .purpose(getGeneratorName())
                 .addSystemMessage(getSystemPrompt())
                 .addUserMessage(promptContent)
                 .temperature(getTemperature())
-                .maxTokens(8000)
+                .maxTokens(getMaxTokens())
                 .build();
     }
 
@@ -95,16 +112,29 @@ public class GenerateQuestionsServiceImpl extends AbstractAiGenerationService<Li
         StudyflowEntity studyflow = studyflowEntityRepository.findById(studyflowId)
                 .orElseThrow(() -> new EntityNotFoundException("Studyflow", studyflowId.toString()));
 
-        questions.forEach(question -> {
-            question.setStudyFlow(studyflow);
-            question.setAnswered(false);
-            question.setUserAnswer(null);
-            questionEntityRepository.save(question);
-        });
+        questions.forEach(question -> saveQuestion(studyflow, question));
 
         log.info("Successfully saved {} questions for studyflow: {}", questions.size(), studyflowId);
     }
 
+    // cada questão é salva assim que fecha no streaming e já aparece no GET /questions
+    @Override
+    protected void persistElement(UUID studyflowId, JsonNode questionNode) {
+        StudyflowEntity studyflow = studyflowEntityRepository.findById(studyflowId)
+                .orElseThrow(() -> new EntityNotFoundException("Studyflow", studyflowId.toString()));
+
+        saveQuestion(studyflow, createQuestionEntity(questionNode));
+        log.debug("Saved streamed question for studyflow: {}", studyflowId);
+    }
+
+    private void saveQuestion(StudyflowEntity studyflow, QuestionEntity question) {
+        question.setStudyFlow(studyflow);
+        question.setAnswered(false);
+        question.setUserAnswer(null);
+        questionEntityRepository.save(question);
+        questionViewCache.invalidate(studyflow.getId());
+    }
+
     private QuestionEntity createQuestionEntity(JsonNode questionNode) {
         QuestionEntity entity = new QuestionEntity();
 
@@ -126,7 +156,7 @@ public class GenerateQuestionsServiceImpl extends AbstractAiGenerationService<Li
         }
     }
 
-    private String parseAnswers(JsonNode questionNode) {
+    private List<String> parseAnswers(JsonNode questionNode) {
         List<String> answers = new ArrayList<>();
 
         if (questionNode.has(ANSWERS_FIELD) && questionNode.get(ANSWERS_FIELD).isArray()) {
@@ -135,19 +165,23 @@ public class GenerateQuestionsServiceImpl extends AbstractAiGenerationService<Li
             }
         }
 
-        return answers.toString();
+        return answers;
     }
 
-    private String parseTags(JsonNode questionNode) {
+    private List<String> parseTags(JsonNode questionNode) {
+        List<String> tags = new ArrayList<>();
         if (questionNode.has("tags") && questionNode.get("tags").isArray()) {
-            List<String> tags = new ArrayList<>();
             for (JsonNode tagNode : questionNode.get("tags")) {
                 tags.add(tagNode.asText());
             }
-            return String.join(",", tags);
         } else {
-            return questionNode.path("tags").asText("");
+            for (String tag : questionNode.path("tags").asText("").split(",")) {
+                if (!tag.isEmpty()) {
+                    tags.add(tag);
+                }
+            }
         }
+        return tags;
     }
 
     @Override
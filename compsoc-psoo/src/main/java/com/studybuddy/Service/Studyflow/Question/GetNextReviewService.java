@@ -0,0 +1,10 @@
+package com.studybuddy.Service.Studyflow.Question;
+
+import com.studybuddy.Dto.Studyflow.Question.QuestionGetDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface GetNextReviewService {
+    List<QuestionGetDto> next(UUID studentId, Integer limit);
+}
@@ -0,0 +1,47 @@
+package com.studybuddy.Service.Studyflow.Question;
+
+import com.studybuddy.Dto.Studyflow.Question.QuestionGetDto;
+import com.studybuddy.Repository.Studyflow.QuestionEntityRepository;
+import com.studybuddy.Repository.Studyflow.QuestionView;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Próximo lote de revisão do estudante: as questões vencidas pela agenda do
+ * {@link Sm2Scheduler}, das mais atrasadas para as menos.
+ */
+@Service
+public class GetNextReviewServiceImpl implements GetNextReviewService {
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+
+    private final QuestionEntityRepository questionEntityRepository;
+
+    public GetNextReviewServiceImpl(QuestionEntityRepository questionEntityRepository) {
+        this.questionEntityRepository = questionEntityRepository;
+    }
+
+    @Override
+    public List<QuestionGetDto> next(UUID studentId, Integer limit) {
+        int batchSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<UUID> dueIds = questionEntityRepository.findDueQuestionIds(studentId, Instant.now(), batchSize);
+        if (dueIds.isEmpty()) {
+            return List.of();
+        }
+
+        // a segunda consulta não garante ordem; mantém a da fila
+        Map<UUID, QuestionView> views = questionEntityRepository.findViewsByIds(dueIds).stream()
+                .collect(Collectors.toMap(QuestionView::getId, Function.identity()));
+        return dueIds.stream()
+                .map(views::get)
+                .filter(view -> view != null)
+                .map(GetQuestionsByStudyflowIdImpl::toDto)
+                .toList();
+    }
+}
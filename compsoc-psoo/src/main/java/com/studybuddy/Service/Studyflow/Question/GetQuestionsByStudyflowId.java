@@ -1,10 +1,14 @@
 package com.studybuddy.Service.Studyflow.Question;
 
 import com.studybuddy.Dto.Studyflow.Question.QuestionGetDto;
+import com.studybuddy.Dto.Studyflow.Question.QuestionPageDto;
+import com.studybuddy.Entity.QuestionType;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface GetQuestionsByStudyflowId {
     List<QuestionGetDto> get(UUID studyflowId);
+
+    QuestionPageDto getPage(UUID studyflowId, Boolean answered, QuestionType type, String tag, Integer page, Integer size);
 }
@@ -1,53 +1,88 @@
 package com.studybuddy.Service.Studyflow.Question;
 
 import com.studybuddy.Dto.Studyflow.Question.QuestionGetDto;
-import com.studybuddy.Entity.QuestionEntity;
+import com.studybuddy.Dto.Studyflow.Question.QuestionPageDto;
+import com.studybuddy.Entity.QuestionType;
 import com.studybuddy.Repository.Studyflow.QuestionEntityRepository;
+import com.studybuddy.Repository.Studyflow.QuestionView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class GetQuestionsByStudyflowIdImpl implements GetQuestionsByStudyflowId {
+    private static final Logger log = LoggerFactory.getLogger(GetQuestionsByStudyflowIdImpl.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final QuestionEntityRepository questionEntityRepository;
-    private final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(getClass());
+    private final QuestionViewCache questionViewCache;
 
-    public GetQuestionsByStudyflowIdImpl(QuestionEntityRepository questionEntityRepository) {
+    public GetQuestionsByStudyflowIdImpl(QuestionEntityRepository questionEntityRepository, QuestionViewCache questionViewCache) {
         this.questionEntityRepository = questionEntityRepository;
+        this.questionViewCache = questionViewCache;
     }
 
     @Override
     public List<QuestionGetDto> get(UUID studyflowId) {
-        log.info("ENTER get(), studyflowId={}", studyflowId);
-        List<QuestionEntity> questionEntityList = null;
-        try{
-            questionEntityList = questionEntityRepository.findAllByStudyFlowId(studyflowId);
-        } catch (Exception e){
-            e.printStackTrace();
-        }
-        log.info("Repository returned list reference={}, size={}", questionEntityList, questionEntityList != null ? questionEntityList.size() : "null");
-
-        List<QuestionGetDto> dtoList = new ArrayList<>();
-        for (QuestionEntity q : questionEntityList) {
-            log.debug("Mapping id={}, studyFlow={}", q.getId(), q.getStudyFlow());
-            QuestionGetDto dto = new QuestionGetDto();
-            dto.setId(q.getId());
-            dto.setQuestion(q.getQuestion());
-            dto.setCorrect(q.getCorrect());
-            dto.setAnswers(q.getAnswers());
-            dto.setExpectedAnswer(q.getExpectedAnswer());
-            dto.setAnswered(q.isAnswered());
-            dto.setStudyflowId(q.getStudyFlow() != null ? q.getStudyFlow().getId() : null);
-            dto.setLastReviewedAt(q.getLastReviewedAt() != null ? q.getLastReviewedAt() : Instant.now());
-            dto.setTags(q.getTags());
-            dto.setType(q.getType());
-            dtoList.add(dto);
-        }
-
-        log.info("EXIT get() -> returning {} dtos", dtoList.size());
-        return dtoList;
+        QuestionViewCache.Page all = load(studyflowId, null, null, null, -1, 0, Pageable.unpaged());
+        log.debug("Returning {} questions for studyflow {}", all.items().size(), studyflowId);
+        return all.items().stream().map(GetQuestionsByStudyflowIdImpl::toDto).toList();
+    }
+
+    @Override
+    public QuestionPageDto getPage(UUID studyflowId, Boolean answered, QuestionType type, String tag, Integer page, Integer size) {
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String normalizedTag = tag == null || tag.isBlank() ? null : tag.trim();
+
+        QuestionViewCache.Page result = load(studyflowId, answered, type, normalizedTag, pageNumber, pageSize,
+                PageRequest.of(pageNumber, pageSize));
+
+        QuestionPageDto questionPageDto = new QuestionPageDto();
+        questionPageDto.setItems(result.items().stream().map(GetQuestionsByStudyflowIdImpl::toDto).toList());
+        questionPageDto.setPage(pageNumber);
+        questionPageDto.setSize(pageSize);
+        questionPageDto.setHasNext(result.hasNext());
+        return questionPageDto;
+    }
+
+    private QuestionViewCache.Page load(UUID studyflowId, Boolean answered, QuestionType type, String tag,
+                                        int page, int size, Pageable pageable) {
+        QuestionViewCache.Key key = new QuestionViewCache.Key(studyflowId, answered, type != null ? type.name() : null, tag, page, size);
+        return questionViewCache.get(key, () -> {
+            Slice<QuestionView> slice = questionEntityRepository.findViews(studyflowId,
+                    answered == null, Boolean.TRUE.equals(answered),
+                    type == null, type != null ? type : QuestionType.SHORT_ANSWER,
+                    tag == null, tag == null ? "" : tag,
+                    pageable);
+            return new QuestionViewCache.Page(List.copyOf(slice.getContent()), slice.hasNext());
+        });
+    }
+
+    static QuestionGetDto toDto(QuestionView q) {
+        QuestionGetDto dto = new QuestionGetDto();
+        dto.setId(q.getId());
+        dto.setQuestion(q.getQuestion());
+        dto.setCorrect(q.getCorrect());
+        List<String> answers = q.getAnswers() != null ? q.getAnswers() : List.of();
+        // o front ainda lê o formato antigo de "answers"; a lista fica em answerList
+        dto.setAnswers(answers.toString());
+        dto.setAnswerList(answers);
+        dto.setExpectedAnswer(q.getExpectedAnswer());
+        dto.setAnswered(q.isAnswered());
+        dto.setStudyflowId(q.getStudyflowId());
+        dto.setLastReviewedAt(q.getLastReviewedAt() != null ? q.getLastReviewedAt() : Instant.now());
+        dto.setTags(q.getTags() != null ? String.join(",", q.getTags()) : "");
+        dto.setType(q.getType());
+        dto.setDueAt(q.getDueAt());
+        return dto;
     }
 }
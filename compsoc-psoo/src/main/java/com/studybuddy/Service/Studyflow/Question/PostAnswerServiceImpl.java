@@ -1,11 +1,11 @@
 package com.studybuddy.Service.Studyflow.Question;
 
 import com.studybuddy.Dto.Studyflow.Question.QuestionPostDto;
-import com.studybuddy.Entity.IndicatorEntity;
 import com.studybuddy.Entity.QuestionEntity;
 import com.studybuddy.Exception.GenericException;
 import com.studybuddy.Repository.Studyflow.Indicator.IndicatorEntityRepository;
 import com.studybuddy.Repository.Studyflow.QuestionEntityRepository;
+import com.studybuddy.Service.Studyflow.Indicator.IndicatorDeltaBuffer;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
@@ -17,10 +17,18 @@ import java.util.UUID;
 @Service
 public class PostAnswerServiceImpl implements PostAnswerService {
     private final IndicatorEntityRepository indicatorEntityRepository;
+    private final IndicatorDeltaBuffer indicatorDeltaBuffer;
+    private final QuestionViewCache questionViewCache;
+    private final Sm2Scheduler sm2Scheduler;
     QuestionEntityRepository questionEntityRepository;
-    public PostAnswerServiceImpl(QuestionEntityRepository questionEntityRepository, IndicatorEntityRepository indicatorEntityRepository) {
+    public PostAnswerServiceImpl(QuestionEntityRepository questionEntityRepository, IndicatorEntityRepository indicatorEntityRepository,
+                                 IndicatorDeltaBuffer indicatorDeltaBuffer, QuestionViewCache questionViewCache,
+                                 Sm2Scheduler sm2Scheduler) {
         this.questionEntityRepository = questionEntityRepository;
         this.indicatorEntityRepository = indicatorEntityRepository;
+        this.indicatorDeltaBuffer = indicatorDeltaBuffer;
+        this.questionViewCache = questionViewCache;
+        this.sm2Scheduler = sm2Scheduler;
     }
     @Override
     @Transactional
@@ -30,35 +38,25 @@ public class PostAnswerServiceImpl implements PostAnswerService {
             throw new GenericException("Entidade nao encontrada");
         }
         QuestionEntity questionEntity = questionEntityOptional.get();
+        boolean review = questionEntity.isAnswered();
+        Instant now = Instant.now();
         questionEntity.setUserAnswer(questionPostDto.getUserAnswer());
         questionEntity.setAnswered(true);
-        questionEntity.setLastReviewedAt(Instant.now());
+        questionEntity.setLastReviewedAt(now);
         questionEntity.setReviewCount(questionEntity.getReviewCount() + 1);
         questionEntity.setCorrect(questionPostDto.isCorrect());
+        sm2Scheduler.schedule(questionEntity, questionPostDto.isCorrect(), now);
         questionEntityRepository.save(questionEntity);
+        questionViewCache.invalidate(questionEntity.getStudyFlow().getId());
 
-        updateIndicatorCounters(questionEntity.getStudyFlow().getId(), questionEntity.getTags(), questionEntity.getCorrect());
+        updateIndicatorCounters(questionEntity.getStudyFlow().getId(), questionEntity.getId(), questionEntity.getTags(), questionEntity.getCorrect(), review);
     }
 
 
-    private void updateIndicatorCounters(UUID id, String tags, Boolean correct) {
-        List<String> tagsSplit = List.of(tags.split(","));
-        List<IndicatorEntity> indicatorEntityList = indicatorEntityRepository.findAllByStudyflowId(id);
-
-        if (indicatorEntityList.isEmpty()) {
+    private void updateIndicatorCounters(UUID id, UUID questionId, List<String> tags, Boolean correct, boolean review) {
+        if (!indicatorEntityRepository.existsByStudyflowId(id)) {
             throw new GenericException("Nenhum indicador encontrado");
         }
-
-        indicatorEntityList.forEach(indicator -> {
-            boolean matches = tagsSplit.stream().anyMatch(tag -> tag.equals(indicator.getIndicatorTag()));
-
-            if (matches) {
-                indicator.setAnsweredCount(indicator.getAnsweredCount() + 1);
-                if (correct){
-                    indicator.setCorrectCount(indicator.getCorrectCount() + 1);
-                }
-            }
-        });
-
+        indicatorDeltaBuffer.append(id, questionId, tags, Boolean.TRUE.equals(correct), review);
     }
 }
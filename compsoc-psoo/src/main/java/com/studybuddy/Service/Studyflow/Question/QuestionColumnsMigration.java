@@ -0,0 +1,115 @@
+package com.studybuddy.Service.Studyflow.Question;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Converte as colunas antigas em texto: tags separadas por vírgula viram {@code text[]}
+ * (com índice GIN) e as alternativas no formato de {@code List.toString()} viram
+ * {@code jsonb}. O Hibernate não altera o tipo de colunas existentes, por isso a conversão
+ * é feita aqui. Também agenda para revisão as questões criadas antes da agenda existir.
+ * Idempotente: só mexe em colunas que ainda são {@code text} e em questões sem agenda.
+ * <p>
+ * Roda na inicialização do bean, antes de qualquer leitura dessas colunas; quem lê
+ * {@code answer_events} na subida declara dependência deste bean.
+ */
+@Component("questionColumnsMigration")
+public class QuestionColumnsMigration {
+    private static final Logger log = LoggerFactory.getLogger(QuestionColumnsMigration.class);
+
+    private static final String TAGS_TO_ARRAY =
+            "CASE WHEN %1$s IS NULL OR %1$s = '' THEN '{}'::text[] ELSE string_to_array(%1$s, ',') END";
+
+    // o formato antigo não escapava vírgulas, então alternativas com ", " no texto ficam divididas
+    private static final String ANSWERS_TO_JSONB = """
+            CASE WHEN answers IS NULL OR answers IN ('', '[]') THEN '[]'::jsonb
+                 WHEN left(answers, 1) = '[' AND right(answers, 1) = ']'
+                      THEN to_jsonb(string_to_array(substr(answers, 2, length(answers) - 2), ', '))
+                 ELSE jsonb_build_array(answers) END""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public QuestionColumnsMigration(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${studybuddy.questions.migrate-columns-on-startup:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void migrateOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> migrate());
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Question column migration did not run", e);
+        }
+    }
+
+    private void migrate() {
+        convert("study_flows_questions", "tags", "text[]", TAGS_TO_ARRAY.formatted("tags"));
+        convert("study_flows_questions", "answers", "jsonb", ANSWERS_TO_JSONB);
+        convert("answer_events", "tags", "text[]", TAGS_TO_ARRAY.formatted("tags"));
+
+        if (columnType("study_flows_questions", "tags").filter("ARRAY"::equalsIgnoreCase).isPresent()) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_questions_tags ON study_flows_questions USING GIN (tags)");
+        }
+
+        if (columnType("study_flows_questions", "due_at").isPresent()) {
+            scheduleExistingQuestions();
+            // o Hibernate não cria índice parcial; é ele que sustenta a fila de revisão
+            jdbcTemplate.execute("""
+                    CREATE INDEX IF NOT EXISTS idx_questions_due
+                        ON study_flows_questions (study_flow_id, due_at)
+                     WHERE due_at IS NOT NULL""");
+        }
+    }
+
+    /**
+     * Questões anteriores à agenda de revisão: as nunca respondidas ficam devidas desde a
+     * criação e as respondidas voltam um dia depois da última resposta.
+     */
+    private void scheduleExistingQuestions() {
+        int scheduled = jdbcTemplate.update("""
+                UPDATE study_flows_questions
+                   SET due_at = CASE WHEN is_answered AND last_reviewed_at IS NOT NULL
+                                     THEN last_reviewed_at + INTERVAL '1 day'
+                                     ELSE created_at END,
+                       ease_factor = COALESCE(ease_factor, 2.5),
+                       repetitions = COALESCE(repetitions, CASE WHEN correct THEN 1 ELSE 0 END),
+                       interval_days = COALESCE(interval_days, CASE WHEN is_answered THEN 1 ELSE 0 END)
+                 WHERE due_at IS NULL""");
+        if (scheduled > 0) {
+            log.info("Scheduled {} existing questions for review", scheduled);
+        }
+    }
+
+    private void convert(String table, String column, String targetType, String using) {
+        if (columnType(table, column).filter("text"::equalsIgnoreCase).isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " TYPE " + targetType + " USING " + using);
+        log.info("Converted {}.{} from text to {}", table, column, targetType);
+    }
+
+    private Optional<String> columnType(String table, String column) {
+        return jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = ? AND column_name = ?",
+                String.class, table, column).stream().findFirst();
+    }
+}
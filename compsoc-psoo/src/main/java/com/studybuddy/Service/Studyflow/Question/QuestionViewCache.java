@@ -0,0 +1,78 @@
+package com.studybuddy.Service.Studyflow.Question;
+
+import com.studybuddy.Repository.Studyflow.QuestionView;
+import com.studybuddy.Service.Cache.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache das páginas de questões, por studyflow e filtro. Resposta e geração invalidam
+ * todas as páginas do studyflow; dentro de uma transação, de novo depois do commit.
+ * Cada invalidação avança a geração do studyflow, e uma página carregada antes disso
+ * não volta para o cache, mesmo que a leitura termine depois da invalidação.
+ */
+@Component
+public class QuestionViewCache {
+    private final LruCache<Key, Page> pages;
+    private final ConcurrentHashMap<UUID, Long> generations = new ConcurrentHashMap<>();
+    // torna atômicos "conferir a geração e gravar" e "avançar a geração e invalidar"
+    private final Object generationLock = new Object();
+    private final boolean enabled;
+
+    public QuestionViewCache(@Value("${studybuddy.questions.cache.enabled:true}") boolean enabled,
+                             @Value("${studybuddy.questions.cache.max-entries:500}") int maxEntries,
+                             @Value("${studybuddy.questions.cache.max-questions:50000}") long maxQuestions) {
+        this.enabled = enabled;
+        this.pages = new LruCache<>(maxEntries, maxQuestions, page -> Math.max(1, page.items().size()));
+    }
+
+    record Key(UUID studyflowId, Boolean answered, String type, String tag, int page, int size) {
+    }
+
+    record Page(List<QuestionView> items, boolean hasNext) {
+    }
+
+    Page get(Key key, Supplier<Page> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Page cached = pages.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generations.getOrDefault(key.studyflowId(), 0L);
+        Page loaded = loader.get();
+        synchronized (generationLock) {
+            if (generations.getOrDefault(key.studyflowId(), 0L) == generation) {
+                pages.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(UUID studyflowId) {
+        evict(studyflowId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(studyflowId);
+                }
+            });
+        }
+    }
+
+    private void evict(UUID studyflowId) {
+        synchronized (generationLock) {
+            generations.merge(studyflowId, 1L, Long::sum);
+            pages.invalidateIf(key -> key.studyflowId().equals(studyflowId));
+        }
+    }
+}
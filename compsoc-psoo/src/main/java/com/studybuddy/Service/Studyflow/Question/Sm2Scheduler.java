@@ -0,0 +1,54 @@
+package com.studybuddy.Service.Studyflow.Question;
+
+import com.studybuddy.Entity.QuestionEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Agenda a próxima revisão de uma questão pelo SM-2. Como a resposta só diz se acertou,
+ * o acerto vale qualidade 4 e o erro qualidade 1: errar zera a sequência e volta a
+ * questão para o dia seguinte, acertar espaça 1, 6 e depois intervalo × fator, até um ano.
+ * Respostas dadas antes da data da revisão não mexem na agenda.
+ */
+@Component
+public class Sm2Scheduler {
+    static final double DEFAULT_EASE = 2.5;
+    static final double MIN_EASE = 1.3;
+    static final int MAX_INTERVAL_DAYS = 365;
+    private static final int CORRECT_QUALITY = 4;
+    private static final int WRONG_QUALITY = 1;
+
+    /**
+     * @return false se a questão ainda não estava devida e a agenda ficou como estava
+     */
+    public boolean schedule(QuestionEntity question, boolean correct, Instant now) {
+        if (question.getDueAt() != null && now.isBefore(question.getDueAt())) {
+            return false;
+        }
+        double ease = question.getEaseFactor() != null ? question.getEaseFactor() : DEFAULT_EASE;
+        int repetitions = question.getRepetitions() != null ? question.getRepetitions() : 0;
+        int interval = question.getIntervalDays() != null ? question.getIntervalDays() : 0;
+
+        int quality = correct ? CORRECT_QUALITY : WRONG_QUALITY;
+        if (correct) {
+            repetitions++;
+            interval = switch (repetitions) {
+                case 1 -> 1;
+                case 2 -> 6;
+                default -> (int) Math.min(MAX_INTERVAL_DAYS, Math.round(Math.max(1, interval) * ease));
+            };
+        } else {
+            repetitions = 0;
+            interval = 1;
+        }
+        ease = Math.max(MIN_EASE, ease + 0.1 - (5 - quality) * (0.08 + (5 - quality) * 0.02));
+
+        question.setEaseFactor(ease);
+        question.setRepetitions(repetitions);
+        question.setIntervalDays(interval);
+        question.setDueAt(now.plus(Duration.ofDays(interval)));
+        return true;
+    }
+}
@@ -1,10 +1,15 @@
 package com.studybuddy.Service.Studyflow.Resource;
 
 import com.studybuddy.Dto.Studyflow.ResourceDto;
+import com.studybuddy.Dto.Studyflow.ResourceSummaryDto;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface GetResourceService {
     List<ResourceDto> getAll(UUID studyflowId);
+
+    List<ResourceSummaryDto> getSummaries(UUID studyflowId);
+
+    ResourceDownload getDownload(UUID resourceId);
 }
@@ -1,6 +1,8 @@
 package com.studybuddy.Service.Studyflow.Resource;
 
 import com.studybuddy.Dto.Studyflow.ResourceDto;
+import com.studybuddy.Dto.Studyflow.ResourceSummaryDto;
+import com.studybuddy.Exception.EntityNotFoundException;
 import com.studybuddy.Exception.GenericException;
 import com.studybuddy.Repository.Studyflow.Resource.ResourceEntityRepository;
 import com.studybuddy.entity.ResourceEntity;
@@ -26,7 +28,6 @@ public class GetResourceServiceImpl implements GetResourceService {
         List<ResourceDto> resourceDtoList = new ArrayList<>();
         resourceEntityList.forEach(resourceEntity -> {
             ResourceDto resourceDto = new ResourceDto();
-            resourceDto.setBinary(resourceEntity.getFileData());
             resourceDto.setStudyflowId(studyflowId);
             resourceDto.setFilename(resourceEntity.getFilename());
             resourceDto.setMime(resourceEntity.getMimeType());
@@ -34,4 +35,29 @@ public class GetResourceServiceImpl implements GetResourceService {
         });
         return resourceDtoList;
     }
+
+    @Override
+    public List<ResourceSummaryDto> getSummaries(UUID studyflowId) {
+        return resourceEntityRepository.findSummariesByStudyFlowIdOrderByCreatedAtAsc(studyflowId).stream()
+                .map(summary -> {
+                    ResourceSummaryDto dto = new ResourceSummaryDto();
+                    dto.setId(summary.getId());
+                    dto.setFilename(summary.getFilename());
+                    dto.setMime(summary.getMimeType());
+                    dto.setSizeBytes(summary.getSizeBytes());
+                    dto.setContentHash(summary.getContentHash());
+                    dto.setCreatedAt(summary.getCreatedAt());
+                    return dto;
+                })
+                .toList();
+    }
+
+    @Override
+    public ResourceDownload getDownload(UUID resourceId) {
+        ResourceEntity resourceEntity = resourceEntityRepository.findById(resourceId)
+                .orElseThrow(() -> new EntityNotFoundException("Resource", resourceId.toString()));
+
+        return new ResourceDownload(resourceEntity.getId(), resourceEntity.getFilename(), resourceEntity.getMimeType(),
+                resourceEntity.getContentHash(), resourceEntity.getSizeBytes(), resourceEntity.getStorageKey());
+    }
 }
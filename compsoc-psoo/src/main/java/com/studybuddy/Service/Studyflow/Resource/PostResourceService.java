@@ -1,8 +1,13 @@
 package com.studybuddy.Service.Studyflow.Resource;
 
 import com.studybuddy.Dto.Studyflow.ResourceDto;
+import org.springframework.web.multipart.MultipartFile;
+
 import java.util.List;
+import java.util.UUID;
 
 public interface PostResourceService {
-    void createBatch(List<ResourceDto> resourceDtoList);
+    UUID createBatch(List<ResourceDto> resourceDtoList);
+
+    UUID createBatch(UUID studyflowId, List<MultipartFile> files, String indicatorFilename);
 }
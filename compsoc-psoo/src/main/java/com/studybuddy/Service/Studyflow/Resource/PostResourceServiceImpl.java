@@ -4,14 +4,21 @@ import com.studybuddy.Dto.Studyflow.ResourceDto;
 import com.studybuddy.Entity.StudyflowEntity;
 import com.studybuddy.Repository.Studyflow.Resource.ResourceEntityRepository;
 import com.studybuddy.Repository.Studyflow.StudyflowEntityRepository;
-import com.studybuddy.Service.Studyflow.Indicator.GenerateIndicatorService;
+import com.studybuddy.Service.Extractor.ExtractTextFromResources;
+import com.studybuddy.Service.Storage.BlobStore;
+import com.studybuddy.Service.Storage.StoredBlob;
+import com.studybuddy.Service.Studyflow.Job.GenerationPipelineService;
 import com.studybuddy.entity.ResourceEntity;
+import com.studybuddy.Exception.ResourceProcessingException;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,20 +30,29 @@ public class PostResourceServiceImpl implements PostResourceService {
 
     private final ResourceEntityRepository resourceEntityRepository;
     private final StudyflowEntityRepository studyflowEntityRepository;
-    private final GenerateIndicatorService generateIndicatorService;
+    private final GenerationPipelineService generationPipelineService;
+    private final ExtractTextFromResources extractTextFromResources;
+    private final UploadSpooler uploadSpooler;
+    private final BlobStore blobStore;
     private boolean foundIndicator = false;
 
     public PostResourceServiceImpl(ResourceEntityRepository resourceEntityRepository,
                                    ApplicationEventPublisher publisher,
-                                   StudyflowEntityRepository studyflowEntityRepository, GenerateIndicatorService generateIndicatorService) {
+                                   StudyflowEntityRepository studyflowEntityRepository, GenerationPipelineService generationPipelineService,
+                                   ExtractTextFromResources extractTextFromResources,
+                                   UploadSpooler uploadSpooler,
+                                   BlobStore blobStore) {
         this.resourceEntityRepository = resourceEntityRepository;
         this.studyflowEntityRepository = studyflowEntityRepository;
-        this.generateIndicatorService = generateIndicatorService;
+        this.generationPipelineService = generationPipelineService;
+        this.extractTextFromResources = extractTextFromResources;
+        this.uploadSpooler = uploadSpooler;
+        this.blobStore = blobStore;
     }
 
     @Transactional
     @Override
-    public void createBatch(List<ResourceDto> resourceDtoList){
+    public UUID createBatch(List<ResourceDto> resourceDtoList){
         if (resourceDtoList == null || resourceDtoList.isEmpty()) {
             throw new IllegalArgumentException("resourceDtoList is null or empty");
         }
@@ -50,7 +66,27 @@ public class PostResourceServiceImpl implements PostResourceService {
             create(resourceDto);
         }
 
-        generateIndicatorService.generate(studyflowId);
+        // indicadores e questoes rodam em background, depois do commit do upload
+        return generationPipelineService.enqueue(studyflowId);
+    }
+
+    @Transactional
+    @Override
+    public UUID createBatch(UUID studyflowId, List<MultipartFile> files, String indicatorFilename) {
+        if (studyflowId == null) {
+            throw new IllegalArgumentException("studyflowId is required");
+        }
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("files is null or empty");
+        }
+
+        for (MultipartFile file : files) {
+            SpooledUpload upload = uploadSpooler.spool(file);
+            create(studyflowId, upload.getFilename(), upload.getMimeType(), upload.getBlob(),
+                    upload.getFilename().equals(indicatorFilename));
+        }
+
+        return generationPipelineService.enqueue(studyflowId);
     }
 
     private void create(ResourceDto resourceDto) {
@@ -59,27 +95,41 @@ public class PostResourceServiceImpl implements PostResourceService {
             throw new IllegalArgumentException("binary (file bytes) is required for file: " + resourceDto.getFilename());
         }
 
+        StoredBlob blob;
+        try {
+            blob = blobStore.put(new ByteArrayInputStream(resourceDto.getBinary()));
+        } catch (IOException e) {
+            throw new ResourceProcessingException("Falha ao gravar o arquivo " + resourceDto.getFilename(), e);
+        }
+
+        create(resourceDto.getStudyflowId(), resourceDto.getFilename(), resourceDto.getMime(), blob, resourceDto.isIndicator());
+    }
+
+    private void create(UUID studyflowId, String filename, String mimeType, StoredBlob blob, boolean indicator) {
         ResourceEntity resourceEntity = new ResourceEntity();
-        resourceEntity.setStudyFlowId(resourceDto.getStudyflowId());
-        resourceEntity.setFilename(resourceDto.getFilename());
-        resourceEntity.setMimeType(resourceDto.getMime());
-        resourceEntity.setFileData(resourceDto.getBinary());
-        resourceEntity.setSizeBytes(resourceEntity.getFileData() != null ? resourceEntity.getFileData().length : 0);
+        resourceEntity.setStudyFlowId(studyflowId);
+        resourceEntity.setFilename(filename);
+        resourceEntity.setMimeType(mimeType);
+        resourceEntity.setStorageKey(blob.getKey());
+        resourceEntity.setSizeBytes(blob.getSizeBytes());
+        resourceEntity.setContentHash(blob.getContentHash());
 
-        log.info("Saving resource: {} ({} bytes) for studyflow {}", resourceEntity.getFilename(), resourceEntity.getSizeBytes(), resourceEntity.getStudyFlowId());
+        log.info("Saving resource: {} ({} bytes, {}) for studyflow {}", filename, blob.getSizeBytes(), mimeType, studyflowId);
 
         ResourceEntity saved = resourceEntityRepository.save(resourceEntity);
         log.info("Saved resource id={} filename={}", saved.getId(), saved.getFilename());
 
-        if (resourceDto.isIndicator()){
+        extractTextFromResources.warm(saved);
+
+        if (indicator) {
             log.info("User sent studyflow indicador");
-            saveIndicator(resourceEntity);
+            saveIndicator(studyflowId, saved);
             foundIndicator = true;
         }
     }
 
-    private void saveIndicator(ResourceEntity resourceEntity) {
-        Optional<StudyflowEntity> studyflowEntityOptional = studyflowEntityRepository.findById(resourceEntity.getStudyFlowId());
+    private void saveIndicator(UUID studyflowId, ResourceEntity resourceEntity) {
+        Optional<StudyflowEntity> studyflowEntityOptional = studyflowEntityRepository.findById(studyflowId);
         if (studyflowEntityOptional.isPresent()) {
             studyflowEntityOptional.get().setIndicator(resourceEntity);
         }
@@ -0,0 +1,32 @@
+package com.studybuddy.Service.Studyflow.Resource;
+
+import java.util.UUID;
+
+/**
+ * Metadados de um recurso a ser enviado; {@code storageKey} é nulo para linhas
+ * que ainda guardam o conteúdo na tabela.
+ */
+public class ResourceDownload {
+    private final UUID resourceId;
+    private final String filename;
+    private final String mimeType;
+    private final String contentHash;
+    private final long sizeBytes;
+    private final String storageKey;
+
+    public ResourceDownload(UUID resourceId, String filename, String mimeType, String contentHash, long sizeBytes, String storageKey) {
+        this.resourceId = resourceId;
+        this.filename = filename;
+        this.mimeType = mimeType;
+        this.contentHash = contentHash;
+        this.sizeBytes = sizeBytes;
+        this.storageKey = storageKey;
+    }
+
+    public UUID getResourceId() { return resourceId; }
+    public String getFilename() { return filename; }
+    public String getMimeType() { return mimeType; }
+    public String getContentHash() { return contentHash; }
+    public long getSizeBytes() { return sizeBytes; }
+    public String getStorageKey() { return storageKey; }
+}
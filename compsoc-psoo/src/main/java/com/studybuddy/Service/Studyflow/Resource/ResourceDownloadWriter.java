@@ -0,0 +1,166 @@
+package com.studybuddy.Service.Studyflow.Resource;
+
+import com.studybuddy.Service.Storage.BlobStore;
+import com.studybuddy.Service.Storage.LegacyBlobReader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Escreve o conteúdo de um recurso na resposta HTTP com suporte a ETag/If-None-Match
+ * e a um único intervalo de Range. Arquivos em disco local vão por sendfile do Tomcat
+ * ou {@link FileChannel#transferTo}; linhas não migradas são lidas do banco.
+ */
+@Component
+public class ResourceDownloadWriter {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String CACHE_CONTROL = "private, max-age=604800";
+
+    private final BlobStore blobStore;
+    private final LegacyBlobReader legacyBlobReader;
+
+    public ResourceDownloadWriter(BlobStore blobStore, LegacyBlobReader legacyBlobReader) {
+        this.blobStore = blobStore;
+        this.legacyBlobReader = legacyBlobReader;
+    }
+
+    public void write(ResourceDownload download, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = download.getSizeBytes();
+        String etag = download.getContentHash() != null ? "\"" + download.getContentHash() + "\"" : null;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag != null) {
+            // o conteúdo de um recurso nunca muda, então o hash serve de ETag
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
+        long start = 0;
+        long length = size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && size > 0 && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            List<HttpRange> ranges = parseRanges(range);
+            // vários intervalos: responde o arquivo inteiro, o que o RFC 9110 permite
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(size);
+                long end = ranges.get(0).getRangeEnd(size);
+                if (start >= size || end < start) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                length = end - start + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + size);
+            }
+        }
+
+        response.setContentType(download.getMimeType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(download.getFilename(), StandardCharsets.UTF_8).build().toString());
+        response.setContentLengthLong(length);
+
+        if (length > 0) {
+            copy(download, start, length, request, response);
+        }
+    }
+
+    private void copy(ResourceDownload download, long start, long length,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (download.getStorageKey() == null) {
+            legacyBlobReader.copy(download.getResourceId(), start, length, response.getOutputStream());
+            return;
+        }
+
+        Optional<Path> localPath = blobStore.localPath(download.getStorageKey());
+        if (localPath.isEmpty()) {
+            try (InputStream in = blobStore.open(download.getStorageKey())) {
+                in.skipNBytes(start);
+                copyBounded(in, response.getOutputStream(), length);
+            }
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // o Tomcat envia o arquivo direto do kernel depois que o handler retornar
+            request.setAttribute(SENDFILE_FILENAME, localPath.get().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(localPath.get(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private void copyBounded(InputStream in, OutputStream out, long length) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                break;
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private List<HttpRange> parseRanges(String header) {
+        try {
+            return HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private boolean ifRangeMatches(String ifRange, String etag) {
+        return ifRange == null || ifRange.equals(etag);
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.studybuddy.Service.Studyflow.Resource;
+
+import com.studybuddy.Service.Storage.StoredBlob;
+
+/**
+ * Arquivo recebido já gravado no blob store, com o mime detectado durante a cópia.
+ */
+public class SpooledUpload {
+    private final String filename;
+    private final String mimeType;
+    private final StoredBlob blob;
+
+    public SpooledUpload(String filename, String mimeType, StoredBlob blob) {
+        this.filename = filename;
+        this.mimeType = mimeType;
+        this.blob = blob;
+    }
+
+    public String getFilename() { return filename; }
+    public String getMimeType() { return mimeType; }
+    public StoredBlob getBlob() { return blob; }
+}
@@ -0,0 +1,61 @@
+package com.studybuddy.Service.Studyflow.Resource;
+
+import com.studybuddy.Exception.ResourceProcessingException;
+import com.studybuddy.Service.Extractor.TikaExtractionPool;
+import com.studybuddy.Service.Storage.BlobStore;
+import com.studybuddy.Service.Storage.StoredBlob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Copia cada parte do multipart direto para o {@link BlobStore} em blocos; o hash é
+ * calculado pelo store e o mime é detectado no mesmo passe, sem materializar o arquivo em memória.
+ */
+@Component
+public class UploadSpooler {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String OCTET_STREAM = "application/octet-stream";
+
+    private final TikaExtractionPool tikaExtractionPool;
+    private final BlobStore blobStore;
+    private final long maxFileBytes;
+
+    public UploadSpooler(TikaExtractionPool tikaExtractionPool,
+                         BlobStore blobStore,
+                         @Value("${studybuddy.upload.max-file-bytes:104857600}") long maxFileBytes) {
+        this.tikaExtractionPool = tikaExtractionPool;
+        this.blobStore = blobStore;
+        this.maxFileBytes = maxFileBytes;
+    }
+
+    public SpooledUpload spool(MultipartFile file) {
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename() : file.getName();
+        if (file.isEmpty()) {
+            throw new ResourceProcessingException("Arquivo vazio: " + filename);
+        }
+        if (file.getSize() > maxFileBytes) {
+            throw new ResourceProcessingException("Arquivo excede o limite de " + maxFileBytes + " bytes: " + filename);
+        }
+
+        try (InputStream in = new BufferedInputStream(file.getInputStream(), BUFFER_SIZE)) {
+            String mimeType = resolveMimeType(tikaExtractionPool.detect(in, filename), file.getContentType());
+            StoredBlob blob = blobStore.put(in);
+            return new SpooledUpload(filename, mimeType, blob);
+        } catch (IOException e) {
+            throw new ResourceProcessingException("Falha ao receber o arquivo " + filename, e);
+        }
+    }
+
+    // se o Tika não reconhecer o conteúdo, fica com o que o cliente declarou
+    private String resolveMimeType(String detected, String declared) {
+        if (OCTET_STREAM.equals(detected) && declared != null && !declared.isBlank()) {
+            return declared;
+        }
+        return detected;
+    }
+}
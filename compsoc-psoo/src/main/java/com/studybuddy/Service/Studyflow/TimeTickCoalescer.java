@@ -0,0 +1,135 @@
+package com.studybuddy.Service.Studyflow;
+
+import com.studybuddy.Repository.Studyflow.StudyflowEntityRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Junta os ticks de tempo do front por studyflow e grava tudo de uma vez no flush
+ * periódico, com um UPDATE atômico por studyflow. Se o processo cair, perde-se no
+ * máximo o tempo acumulado desde o último flush.
+ * <p>
+ * Como no {@code IndicatorDeltaBuffer}, só o commit e o desconto do que foi gravado
+ * ficam sob o lock; {@link #read} lê o banco de forma otimista e repete se um commit
+ * cruzou a leitura.
+ */
+@Component
+public class TimeTickCoalescer {
+    private static final Logger log = LoggerFactory.getLogger(TimeTickCoalescer.class);
+
+    private final StudyflowEntityRepository studyflowEntityRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ConcurrentHashMap<UUID, Long> pending = new ConcurrentHashMap<>();
+    private final StampedLock commitLock = new StampedLock();
+    private volatile Consumer<UUID> missingStudyflowListener = studyflowId -> {};
+
+    public TimeTickCoalescer(StudyflowEntityRepository studyflowEntityRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.studyflowEntityRepository = studyflowEntityRepository;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Resultado de uma leitura do banco junto com o tempo ainda não gravado nele.
+     */
+    public record Snapshot<T>(T persisted, long pendingMillis) {
+        public Long plusPending(Long persistedMillis) {
+            if (pendingMillis == 0) {
+                return persistedMillis;
+            }
+            return (persistedMillis == null ? 0 : persistedMillis) + pendingMillis;
+        }
+    }
+
+    public void add(UUID studyflowId, long millis) {
+        pending.merge(studyflowId, millis, Long::sum);
+    }
+
+    /**
+     * Chamado depois do flush para cada studyflow cujo UPDATE não encontrou linha
+     * (studyflow apagado); o tempo pendente dele é descartado.
+     */
+    public void onMissingStudyflow(Consumer<UUID> listener) {
+        this.missingStudyflowListener = listener;
+    }
+
+    /**
+     * Executa a leitura do banco e devolve, junto, o tempo pendente do studyflow; se um
+     * flush fizer commit durante a leitura, ela é repetida.
+     */
+    public <T> Snapshot<T> read(UUID studyflowId, Supplier<T> databaseRead) {
+        while (true) {
+            long stamp = commitLock.tryOptimisticRead();
+            if (stamp == 0) {
+                commitLock.unlockRead(commitLock.readLock());
+                continue;
+            }
+            T persisted = databaseRead.get();
+            long buffered = pending.getOrDefault(studyflowId, 0L);
+            if (commitLock.validate(stamp)) {
+                return new Snapshot<>(persisted, buffered);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${studybuddy.time.flush-interval-ms:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<UUID, Long> batch = new HashMap<>(pending);
+        List<UUID> missing = new ArrayList<>();
+        try {
+            TransactionStatus status = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+            try {
+                batch.forEach((studyflowId, millis) -> {
+                    if (studyflowEntityRepository.addTimeSpent(studyflowId, millis) == 0) {
+                        missing.add(studyflowId);
+                    }
+                });
+            } catch (RuntimeException e) {
+                transactionManager.rollback(status);
+                throw e;
+            }
+
+            long stamp = commitLock.writeLock();
+            try {
+                transactionManager.commit(status);
+                // desconta só o que foi gravado; ticks que chegaram durante o flush continuam pendentes
+                batch.forEach((studyflowId, millis) ->
+                        pending.computeIfPresent(studyflowId, (id, current) -> current.equals(millis) ? null : current - millis));
+                // sem linha para atualizar, o tempo nunca seria gravado
+                missing.forEach(pending::remove);
+            } finally {
+                commitLock.unlockWrite(stamp);
+            }
+            log.debug("Flushed time spent for {} studyflows", batch.size());
+            if (!missing.isEmpty()) {
+                log.info("Dropped time spent for {} missing studyflows", missing.size());
+                missing.forEach(missingStudyflowListener);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            // o tempo continua pendente e entra no próximo flush
+            log.warn("Time spent left unflushed for {} studyflows", pending.size(), e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.studybuddy.Service.AI.Resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+	@Test
+	void opensAfterConsecutiveFailures() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 2, Duration.ofHours(1));
+
+		breaker.onFailure();
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		breaker.onFailure();
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.tryAcquire());
+	}
+
+	@Test
+	void successResetsTheFailureCount() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 2, Duration.ofHours(1));
+
+		breaker.onFailure();
+		breaker.onSuccess();
+		breaker.onFailure();
+
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	void ignoredResultsDoNotOpen() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ofHours(1));
+
+		for (int i = 0; i < 5; i++) {
+			breaker.onIgnored();
+		}
+
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	void halfOpenLetsOneTrialThroughAndClosesOnSuccess() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ZERO);
+		breaker.onFailure();
+
+		assertTrue(breaker.tryAcquire());
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		assertFalse(breaker.tryAcquire());
+
+		breaker.onSuccess();
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	void failedTrialOpensAgain() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ZERO);
+		breaker.onFailure();
+		breaker.tryAcquire();
+
+		breaker.onFailure();
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+	}
+}
@@ -0,0 +1,44 @@
+package com.studybuddy.Service.AI.Resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void burstIsServedWithoutWaiting() {
+		TokenBucket bucket = new TokenBucket(1, 3);
+
+		assertEquals(0, bucket.reserve(0));
+		assertEquals(0, bucket.reserve(0));
+		assertEquals(0, bucket.reserve(0));
+	}
+
+	@Test
+	void reservationsPastTheBurstQueueUp() {
+		TokenBucket bucket = new TokenBucket(1, 1);
+		bucket.reserve(0);
+
+		long first = bucket.reserve(10 * SECOND);
+		long second = bucket.reserve(10 * SECOND);
+
+		assertTrue(first > SECOND * 9 / 10 && first <= SECOND, "first wait: " + first);
+		assertTrue(second > first + SECOND * 9 / 10, "second wait: " + second);
+	}
+
+	@Test
+	void waitAboveTheLimitIsRejectedWithoutReserving() {
+		TokenBucket bucket = new TokenBucket(1, 1);
+		bucket.reserve(0);
+
+		assertEquals(-1, bucket.reserve(SECOND / 2));
+		long wait = bucket.reserve(10 * SECOND);
+		assertTrue(wait <= SECOND, "rejected reservation was kept: " + wait);
+	}
+}
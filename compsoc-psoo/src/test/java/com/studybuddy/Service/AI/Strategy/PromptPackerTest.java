@@ -0,0 +1,76 @@
+package com.studybuddy.Service.AI.Strategy;
+
+import com.studybuddy.Service.AI.Strategy.PackedDocuments.PackedDocument;
+import com.studybuddy.Service.Extractor.ExtractedDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PromptPackerTest {
+
+	private final PromptPacker packer = new PromptPacker(new ModelContextBudgets(32768, "", 24000));
+
+	@Test
+	void documentsThatFitAreKeptWholeAndInOrder() {
+		List<ExtractedDocument> documents = List.of(document("b.txt", "segundo"), document("a.txt", "primeiro"));
+
+		PackedDocuments packed = packer.pack(documents, 1000);
+
+		assertEquals(List.of("b.txt", "a.txt"), packed.getDocuments().stream().map(PackedDocument::filename).toList());
+		assertTrue(packed.getDocuments().stream().noneMatch(PackedDocument::truncated));
+		assertEquals("segundo", packed.getDocuments().get(0).text());
+	}
+
+	@Test
+	void largeDocumentIsCutAtAParagraphWithinTheBudget() {
+		String large = paragraphs(20);
+		List<ExtractedDocument> documents = List.of(document("big.txt", large), document("small.txt", "curto"));
+
+		PackedDocuments packed = packer.pack(documents, 500);
+
+		PackedDocument big = packed.getDocuments().get(0);
+		assertEquals("big.txt", big.filename());
+		assertTrue(big.truncated());
+		assertTrue(big.paragraphs() > 0 && big.paragraphs() < big.totalParagraphs());
+		assertTrue(large.startsWith(big.text() + "\n\n"));
+		assertFalse(packed.getDocuments().get(1).truncated());
+		assertTrue(packed.getUsedTokens() + 2 * PromptPacker.DOCUMENT_OVERHEAD_TOKENS <= 500);
+	}
+
+	@Test
+	void chunksSplitLargeDocumentsAndGroupSmallOnes() {
+		List<ExtractedDocument> documents = List.of(document("big.txt", paragraphs(20)),
+				document("a.txt", "um"), document("b.txt", "dois"));
+
+		List<List<ExtractedDocument>> chunks = packer.chunk(documents, 524);
+
+		assertTrue(chunks.size() > 2);
+		assertEquals("big.txt (parte 1)", chunks.get(0).get(0).getFilename());
+		// os pequenos entram no bloco que ainda tem espaço, junto da última parte do grande
+		assertEquals(List.of("big.txt (parte 5)", "a.txt", "b.txt"),
+				chunks.get(chunks.size() - 1).stream().map(ExtractedDocument::getFilename).toList());
+		for (List<ExtractedDocument> chunk : chunks) {
+			int tokens = chunk.stream()
+					.mapToInt(document -> TokenEstimator.estimate(document.getText()) + PromptPacker.DOCUMENT_OVERHEAD_TOKENS)
+					.sum();
+			assertTrue(tokens <= 524, "chunk with " + tokens + " tokens");
+		}
+	}
+
+	private static ExtractedDocument document(String filename, String text) {
+		return ExtractedDocument.parsed(UUID.randomUUID(), filename, "text/plain", text, Integer.MAX_VALUE);
+	}
+
+	private static String paragraphs(int count) {
+		return IntStream.range(0, count)
+				.mapToObj(i -> "p" + i + " " + "x".repeat(345) + ".")
+				.collect(Collectors.joining("\n\n"));
+	}
+}
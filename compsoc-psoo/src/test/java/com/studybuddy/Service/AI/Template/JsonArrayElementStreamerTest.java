@@ -0,0 +1,65 @@
+package com.studybuddy.Service.AI.Template;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonArrayElementStreamerTest {
+
+	private final List<JsonNode> elements = new ArrayList<>();
+	private final JsonArrayElementStreamer streamer = new JsonArrayElementStreamer(new ObjectMapper(), elements::add);
+
+	@Test
+	void elementsSplitAcrossChunksAreEmittedWhenTheyClose() {
+		streamer.feed("[{\"q\": \"Qual é a cap");
+		assertEquals(0, elements.size());
+
+		streamer.feed("ital?\", \"answers\": [1, 2]}");
+		assertEquals(1, elements.size());
+
+		streamer.feed(", {\"q\"");
+		streamer.feed(": \"ção\"}");
+		streamer.feed("]");
+
+		assertEquals(2, elements.size());
+		assertEquals("Qual é a capital?", elements.get(0).get("q").asText());
+		assertEquals(2, elements.get(0).get("answers").size());
+		assertEquals("ção", elements.get(1).get("q").asText());
+		assertTrue(streamer.isComplete());
+		assertEquals(2, streamer.getEmitted());
+	}
+
+	@Test
+	void textBeforeTheArrayIsIgnored() {
+		streamer.feed("Claro! Aqui estão as questões:\n");
+		streamer.feed("```json\n[");
+		streamer.feed("{\"q\": 1}, {\"q\": 2}]\n```");
+
+		assertEquals(2, elements.size());
+		assertEquals(1, elements.get(0).get("q").asInt());
+		assertTrue(streamer.isComplete());
+	}
+
+	@Test
+	void truncatedResponseKeepsTheClosedElements() {
+		streamer.feed("[{\"q\": 1}, {\"q\": ");
+
+		assertEquals(1, elements.size());
+		assertFalse(streamer.isComplete());
+	}
+
+	@Test
+	void nonArrayResponseEmitsNothing() {
+		streamer.feed("{\"q\": 1}");
+
+		assertEquals(0, streamer.getEmitted());
+		assertFalse(streamer.isComplete());
+	}
+}
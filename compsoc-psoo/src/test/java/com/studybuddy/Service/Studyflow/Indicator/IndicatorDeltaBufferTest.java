@@ -0,0 +1,226 @@
+package com.studybuddy.Service.Studyflow.Indicator;
+
+import com.studybuddy.Entity.AnswerEventEntity;
+import com.studybuddy.Repository.Studyflow.Indicator.AnswerEventEntityRepository;
+import com.studybuddy.Repository.Studyflow.Indicator.IndicatorEntityRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndicatorDeltaBufferTest {
+
+	private final UUID studyflowId = UUID.randomUUID();
+
+	// contadores "no banco" por tag: answered, correct, reviewed
+	private final Map<String, int[]> counters = new ConcurrentHashMap<>(Map.of("t1", new int[3], "t2", new int[3]));
+	private final Set<Long> events = ConcurrentHashMap.newKeySet();
+	private final AtomicLong eventIds = new AtomicLong();
+	private final AtomicInteger updates = new AtomicInteger();
+	private final AtomicBoolean databaseDown = new AtomicBoolean();
+	// os UPDATEs só aparecem para as leituras depois do commit
+	private final ThreadLocal<List<Runnable>> staged = ThreadLocal.withInitial(ArrayList::new);
+
+	private final IndicatorDeltaBuffer buffer = new IndicatorDeltaBuffer(answerEvents(), indicators(), transactionManager(), 50);
+
+	@Test
+	void pendingAnswersAreAddedToReadsBeforeTheFlush() {
+		buffer.append(studyflowId, UUID.randomUUID(), List.of("t1", "t2", "t1"), true, false);
+		buffer.append(studyflowId, UUID.randomUUID(), List.of("t1"), false, true);
+
+		IndicatorDeltaBuffer.Snapshot<Integer> snapshot = buffer.read(studyflowId, () -> answered("t1"));
+
+		assertEquals(0, snapshot.persisted());
+		assertEquals(new IndicatorDeltaBuffer.IndicatorCounts(2, 1, 1), snapshot.pendingFor("t1"));
+		assertEquals(new IndicatorDeltaBuffer.IndicatorCounts(1, 1, 0), snapshot.pendingFor("t2"));
+		assertEquals(2, buffer.pendingCount());
+	}
+
+	@Test
+	void flushMovesTheDeltasIntoTheDatabase() {
+		buffer.append(studyflowId, UUID.randomUUID(), List.of("t1", "t2"), true, false);
+		buffer.append(studyflowId, UUID.randomUUID(), List.of("t1", "t2"), false, false);
+
+		buffer.flush();
+
+		IndicatorDeltaBuffer.Snapshot<Integer> snapshot = buffer.read(studyflowId, () -> answered("t1"));
+		assertEquals(2, snapshot.persisted());
+		assertTrue(snapshot.pending().isEmpty());
+		assertEquals(1, counters.get("t2")[1]);
+		// as duas tags receberam os mesmos incrementos: um UPDATE só
+		assertEquals(1, updates.get());
+		assertTrue(events.isEmpty());
+		assertEquals(0, buffer.pendingCount());
+	}
+
+	@Test
+	void failedFlushKeepsTheAnswersPending() {
+		buffer.append(studyflowId, UUID.randomUUID(), List.of("t1"), true, false);
+		databaseDown.set(true);
+
+		buffer.flush();
+
+		assertEquals(1, buffer.pendingCount());
+		assertEquals(1, events.size());
+		IndicatorDeltaBuffer.Snapshot<Integer> snapshot = buffer.read(studyflowId, () -> answered("t1"));
+		assertEquals(0, snapshot.persisted());
+		assertEquals(1, snapshot.pendingFor("t1").answered());
+
+		databaseDown.set(false);
+		buffer.flush();
+
+		assertEquals(1, answered("t1"));
+		assertEquals(0, buffer.pendingCount());
+	}
+
+	@Test
+	void readsDuringFlushesNeverCountAnAnswerTwiceOrLoseIt() throws Exception {
+		int writers = 4;
+		int answersPerWriter = 1000;
+		AtomicInteger appended = new AtomicInteger();
+		AtomicInteger wentBackwards = new AtomicInteger();
+		AtomicBoolean stop = new AtomicBoolean();
+
+		Thread flusher = new Thread(() -> {
+			while (!stop.get()) {
+				buffer.flush();
+			}
+		});
+		flusher.start();
+
+		ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for (int w = 0; w < writers; w++) {
+				tasks.add(pool.submit(() -> {
+					for (int i = 0; i < answersPerWriter; i++) {
+						buffer.append(studyflowId, UUID.randomUUID(), List.of("t1"), i % 2 == 0, false);
+						appended.incrementAndGet();
+					}
+				}));
+			}
+			tasks.add(pool.submit(() -> {
+				int last = 0;
+				while (appended.get() < writers * answersPerWriter) {
+					IndicatorDeltaBuffer.Snapshot<Integer> snapshot = buffer.read(studyflowId, () -> answered("t1"));
+					int seen = snapshot.persisted() + snapshot.pendingFor("t1").answered();
+					// contar duas vezes durante um commit apareceria como um pico seguido de queda
+					if (seen < last) {
+						wentBackwards.incrementAndGet();
+					}
+					last = seen;
+				}
+			}));
+			for (Future<?> task : tasks) {
+				task.get();
+			}
+		} finally {
+			stop.set(true);
+			flusher.join();
+			pool.shutdown();
+		}
+		buffer.flush();
+
+		assertEquals(0, wentBackwards.get());
+		assertEquals(writers * answersPerWriter, answered("t1"));
+		assertEquals(writers * answersPerWriter / 2, counters.get("t1")[1]);
+		assertTrue(events.isEmpty());
+	}
+
+	private int answered(String tag) {
+		int[] counts = counters.get(tag);
+		synchronized (counts) {
+			return counts[0];
+		}
+	}
+
+	private AnswerEventEntityRepository answerEvents() {
+		return (AnswerEventEntityRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{AnswerEventEntityRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+					case "save" -> {
+						AnswerEventEntity event = (AnswerEventEntity) args[0];
+						event.setId(eventIds.incrementAndGet());
+						events.add(event.getId());
+						yield event;
+					}
+					case "deleteAllByIdInBatch" -> {
+						Collection<?> ids = (Collection<?>) args[0];
+						staged.get().add(() -> events.removeAll(ids));
+						yield null;
+					}
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	private IndicatorEntityRepository indicators() {
+		return (IndicatorEntityRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{IndicatorEntityRepository.class}, (proxy, method, args) -> {
+					if (!method.getName().equals("incrementCounters")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					if (databaseDown.get()) {
+						throw new DataAccessResourceFailureException("database is down");
+					}
+					updates.incrementAndGet();
+					Collection<?> tags = (Collection<?>) args[1];
+					int answered = (int) args[2];
+					int correct = (int) args[3];
+					int reviewed = (int) args[4];
+					for (Object tag : tags) {
+						staged.get().add(() -> {
+							int[] counts = counters.get(tag);
+							synchronized (counts) {
+								counts[0] += answered;
+								counts[1] += correct;
+								counts[2] += reviewed;
+							}
+						});
+					}
+					return tags.size();
+				});
+	}
+
+	private PlatformTransactionManager transactionManager() {
+		return new AbstractPlatformTransactionManager() {
+			@Override
+			protected Object doGetTransaction() {
+				return new Object();
+			}
+
+			@Override
+			protected void doBegin(Object transaction, TransactionDefinition definition) {
+			}
+
+			@Override
+			protected void doCommit(DefaultTransactionStatus status) {
+				staged.get().forEach(Runnable::run);
+				staged.get().clear();
+			}
+
+			@Override
+			protected void doRollback(DefaultTransactionStatus status) {
+				staged.get().clear();
+			}
+		};
+	}
+}
@@ -0,0 +1,68 @@
+package com.studybuddy.Service.Studyflow.Question;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class QuestionViewCacheTest {
+
+	private final QuestionViewCache cache = new QuestionViewCache(true, 100, 1000);
+	private final UUID studyflowId = UUID.randomUUID();
+	private final QuestionViewCache.Key key = new QuestionViewCache.Key(studyflowId, null, null, null, 0, 50);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void loadedPageIsServedFromTheCache() {
+		QuestionViewCache.Page first = cache.get(key, this::load);
+		QuestionViewCache.Page second = cache.get(key, this::load);
+
+		assertSame(first, second);
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void invalidationDropsCachedPages() {
+		cache.get(key, this::load);
+
+		cache.invalidate(studyflowId);
+		cache.get(key, this::load);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void pageLoadedAcrossAnInvalidationIsNotCached() {
+		// a leitura começou antes da invalidação e pode ter visto dados antigos
+		cache.get(key, () -> {
+			QuestionViewCache.Page page = load();
+			cache.invalidate(studyflowId);
+			return page;
+		});
+
+		cache.get(key, this::load);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void invalidationOnlyAffectsItsStudyflow() {
+		QuestionViewCache.Key other = new QuestionViewCache.Key(UUID.randomUUID(), null, null, null, 0, 50);
+		cache.get(key, this::load);
+		cache.get(other, this::load);
+
+		cache.invalidate(studyflowId);
+		cache.get(other, this::load);
+
+		assertEquals(2, loads.get());
+	}
+
+	private QuestionViewCache.Page load() {
+		loads.incrementAndGet();
+		return new QuestionViewCache.Page(List.of(), false);
+	}
+}
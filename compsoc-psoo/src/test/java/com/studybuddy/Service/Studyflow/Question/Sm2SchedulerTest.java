@@ -0,0 +1,84 @@
+package com.studybuddy.Service.Studyflow.Question;
+
+import com.studybuddy.Entity.QuestionEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Sm2SchedulerTest {
+
+	private final Sm2Scheduler scheduler = new Sm2Scheduler();
+
+	@Test
+	void correctAnswersSpaceOneSixThenIntervalTimesEase() {
+		QuestionEntity question = new QuestionEntity();
+		Instant now = question.getDueAt();
+
+		assertTrue(scheduler.schedule(question, true, now));
+		assertEquals(1, question.getIntervalDays());
+		assertEquals(now.plus(Duration.ofDays(1)), question.getDueAt());
+
+		scheduler.schedule(question, true, question.getDueAt());
+		assertEquals(6, question.getIntervalDays());
+
+		scheduler.schedule(question, true, question.getDueAt());
+		assertEquals(Math.round(6 * question.getEaseFactor()), question.getIntervalDays().longValue());
+		assertEquals(15, question.getIntervalDays());
+		assertEquals(3, question.getRepetitions());
+	}
+
+	@Test
+	void wrongAnswerResetsTheSequence() {
+		QuestionEntity question = new QuestionEntity();
+		scheduler.schedule(question, true, question.getDueAt());
+		scheduler.schedule(question, true, question.getDueAt());
+
+		Instant now = question.getDueAt();
+		scheduler.schedule(question, false, now);
+
+		assertEquals(0, question.getRepetitions());
+		assertEquals(1, question.getIntervalDays());
+		assertEquals(now.plus(Duration.ofDays(1)), question.getDueAt());
+		assertEquals(1.96, question.getEaseFactor(), 1e-9);
+	}
+
+	@Test
+	void easeNeverDropsBelowTheFloor() {
+		QuestionEntity question = new QuestionEntity();
+		for (int i = 0; i < 10; i++) {
+			scheduler.schedule(question, false, question.getDueAt());
+		}
+
+		assertEquals(Sm2Scheduler.MIN_EASE, question.getEaseFactor(), 1e-9);
+	}
+
+	@Test
+	void intervalIsCappedAtOneYear() {
+		QuestionEntity question = new QuestionEntity();
+		question.setRepetitions(5);
+		question.setIntervalDays(300);
+
+		scheduler.schedule(question, true, question.getDueAt());
+
+		assertEquals(Sm2Scheduler.MAX_INTERVAL_DAYS, question.getIntervalDays());
+	}
+
+	@Test
+	void answerBeforeTheDueDateKeepsTheSchedule() {
+		QuestionEntity question = new QuestionEntity();
+		scheduler.schedule(question, true, question.getDueAt());
+		Instant dueAt = question.getDueAt();
+
+		assertFalse(scheduler.schedule(question, false, dueAt.minus(Duration.ofHours(1))));
+
+		assertEquals(1, question.getRepetitions());
+		assertEquals(1, question.getIntervalDays());
+		assertEquals(Sm2Scheduler.DEFAULT_EASE, question.getEaseFactor(), 1e-9);
+		assertEquals(dueAt, question.getDueAt());
+	}
+}
@@ -0,0 +1,133 @@
+package com.studybuddy.Service.Studyflow.Resource;
+
+import com.studybuddy.Service.Storage.BlobStore;
+import com.studybuddy.Service.Storage.StoredBlob;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResourceDownloadWriterTest {
+
+	private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+	private static final ResourceDownload DOWNLOAD = new ResourceDownload(
+			UUID.randomUUID(), "notas.txt", "text/plain", "abc", CONTENT.length, "blob-key");
+
+	// o leitor legado nunca é usado porque o recurso já tem storageKey
+	private final ResourceDownloadWriter writer = new ResourceDownloadWriter(new InMemoryBlobStore(), null);
+
+	@Test
+	void withoutRangeTheWholeFileIsSent() throws Exception {
+		MockHttpServletResponse response = write(new MockHttpServletRequest());
+
+		assertEquals(200, response.getStatus());
+		assertEquals("0123456789", response.getContentAsString());
+		assertEquals(10, response.getContentLengthLong());
+		assertEquals("\"abc\"", response.getHeader(HttpHeaders.ETAG));
+		assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+	}
+
+	@Test
+	void singleRangeIsAnsweredWithPartialContent() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+		MockHttpServletResponse response = write(request);
+
+		assertEquals(206, response.getStatus());
+		assertEquals("2345", response.getContentAsString());
+		assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+		assertEquals(4, response.getContentLengthLong());
+	}
+
+	@Test
+	void suffixRangeSendsTheLastBytes() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+		MockHttpServletResponse response = write(request);
+
+		assertEquals(206, response.getStatus());
+		assertEquals("789", response.getContentAsString());
+		assertEquals("bytes 7-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+	}
+
+	@Test
+	void rangePastTheEndIsNotSatisfiable() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.RANGE, "bytes=10-20");
+
+		MockHttpServletResponse response = write(request);
+
+		assertEquals(416, response.getStatus());
+		assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+		assertEquals("", response.getContentAsString());
+	}
+
+	@Test
+	void staleIfRangeFallsBackToTheWholeFile() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+		request.addHeader(HttpHeaders.IF_RANGE, "\"outro\"");
+
+		MockHttpServletResponse response = write(request);
+
+		assertEquals(200, response.getStatus());
+		assertEquals("0123456789", response.getContentAsString());
+		assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+	}
+
+	@Test
+	void matchingIfRangeKeepsThePartialResponse() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+		request.addHeader(HttpHeaders.IF_RANGE, "\"abc\"");
+
+		MockHttpServletResponse response = write(request);
+
+		assertEquals(206, response.getStatus());
+		assertEquals("2345", response.getContentAsString());
+	}
+
+	@Test
+	void matchingIfNoneMatchIsNotModified() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"abc\"");
+
+		MockHttpServletResponse response = write(request);
+
+		assertEquals(304, response.getStatus());
+		assertEquals("", response.getContentAsString());
+	}
+
+	private MockHttpServletResponse write(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		writer.write(DOWNLOAD, request, response);
+		return response;
+	}
+
+	private static class InMemoryBlobStore implements BlobStore {
+		@Override
+		public StoredBlob put(InputStream in) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public InputStream open(String key) {
+			return new ByteArrayInputStream(CONTENT);
+		}
+
+		@Override
+		public boolean exists(String key) {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package com.studybuddy.Service.Studyflow;
+
+import com.studybuddy.Repository.Studyflow.StudyflowEntityRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TimeTickCoalescerTest {
+
+	private final UUID studyflowId = UUID.randomUUID();
+
+	// timeSpent "no banco" por studyflow; ids fora do mapa não existem
+	private final Map<UUID, AtomicLong> timeSpent = new ConcurrentHashMap<>(Map.of(studyflowId, new AtomicLong()));
+	private final AtomicBoolean databaseDown = new AtomicBoolean();
+	private volatile Runnable duringUpdate = () -> {};
+	// os UPDATEs só aparecem para as leituras depois do commit
+	private final ThreadLocal<List<Runnable>> staged = ThreadLocal.withInitial(ArrayList::new);
+
+	private final TimeTickCoalescer coalescer = new TimeTickCoalescer(studyflows(), transactionManager());
+
+	@Test
+	void pendingTicksAreAddedToReads() {
+		coalescer.add(studyflowId, 1000);
+		coalescer.add(studyflowId, 500);
+
+		TimeTickCoalescer.Snapshot<Long> snapshot = coalescer.read(studyflowId, this::persisted);
+
+		assertEquals(0L, snapshot.persisted());
+		assertEquals(1500, snapshot.pendingMillis());
+		assertEquals(1500L, snapshot.plusPending(null));
+	}
+
+	@Test
+	void flushWritesThePendingTime() {
+		coalescer.add(studyflowId, 1000);
+
+		coalescer.flush();
+
+		TimeTickCoalescer.Snapshot<Long> snapshot = coalescer.read(studyflowId, this::persisted);
+		assertEquals(1000L, snapshot.persisted());
+		assertEquals(0, snapshot.pendingMillis());
+	}
+
+	@Test
+	void ticksArrivingDuringTheFlushStayPending() {
+		coalescer.add(studyflowId, 1000);
+		duringUpdate = () -> coalescer.add(studyflowId, 300);
+
+		coalescer.flush();
+
+		TimeTickCoalescer.Snapshot<Long> snapshot = coalescer.read(studyflowId, this::persisted);
+		assertEquals(1000L, snapshot.persisted());
+		assertEquals(300, snapshot.pendingMillis());
+	}
+
+	@Test
+	void failedFlushKeepsTheTimePending() {
+		coalescer.add(studyflowId, 1000);
+		databaseDown.set(true);
+
+		coalescer.flush();
+
+		assertEquals(1000, coalescer.read(studyflowId, this::persisted).pendingMillis());
+		assertEquals(0L, persisted());
+	}
+
+	@Test
+	void timeForMissingStudyflowsIsDroppedAndReported() {
+		UUID deleted = UUID.randomUUID();
+		List<UUID> reported = new ArrayList<>();
+		coalescer.onMissingStudyflow(reported::add);
+		coalescer.add(deleted, 1000);
+		coalescer.add(studyflowId, 200);
+
+		coalescer.flush();
+
+		assertEquals(List.of(deleted), reported);
+		assertEquals(0, coalescer.read(deleted, () -> null).pendingMillis());
+		assertEquals(200L, persisted());
+	}
+
+	@Test
+	void readsDuringFlushesNeverCountTimeTwiceOrLoseIt() throws Exception {
+		int writers = 4;
+		int ticksPerWriter = 2000;
+		AtomicLong added = new AtomicLong();
+		AtomicInteger wentBackwards = new AtomicInteger();
+		AtomicBoolean stop = new AtomicBoolean();
+
+		Thread flusher = new Thread(() -> {
+			while (!stop.get()) {
+				coalescer.flush();
+			}
+		});
+		flusher.start();
+
+		ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for (int w = 0; w < writers; w++) {
+				tasks.add(pool.submit(() -> {
+					for (int i = 0; i < ticksPerWriter; i++) {
+						coalescer.add(studyflowId, 7);
+						added.addAndGet(7);
+					}
+				}));
+			}
+			tasks.add(pool.submit(() -> {
+				long last = 0;
+				while (added.get() < 7L * writers * ticksPerWriter) {
+					TimeTickCoalescer.Snapshot<Long> snapshot = coalescer.read(studyflowId, this::persisted);
+					long seen = snapshot.plusPending(snapshot.persisted());
+					// contar duas vezes durante um commit apareceria como um pico seguido de queda
+					if (seen < last) {
+						wentBackwards.incrementAndGet();
+					}
+					last = seen;
+				}
+			}));
+			for (Future<?> task : tasks) {
+				task.get();
+			}
+		} finally {
+			stop.set(true);
+			flusher.join();
+			pool.shutdown();
+		}
+		coalescer.flush();
+
+		assertEquals(0, wentBackwards.get());
+		assertEquals(7L * writers * ticksPerWriter, persisted());
+		assertEquals(0, coalescer.read(studyflowId, this::persisted).pendingMillis());
+	}
+
+	@Test
+	void snapshotWithoutPendingTimeKeepsTheStoredValue() {
+		TimeTickCoalescer.Snapshot<Long> snapshot = coalescer.read(studyflowId, () -> null);
+
+		assertNull(snapshot.plusPending(null));
+	}
+
+	private Long persisted() {
+		return timeSpent.get(studyflowId).get();
+	}
+
+	private StudyflowEntityRepository studyflows() {
+		return (StudyflowEntityRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{StudyflowEntityRepository.class}, (proxy, method, args) -> {
+					if (!method.getName().equals("addTimeSpent")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					if (databaseDown.get()) {
+						throw new DataAccessResourceFailureException("database is down");
+					}
+					duringUpdate.run();
+					AtomicLong row = timeSpent.get((UUID) args[0]);
+					if (row == null) {
+						return 0;
+					}
+					long millis = (long) args[1];
+					staged.get().add(() -> row.addAndGet(millis));
+					return 1;
+				});
+	}
+
+	private PlatformTransactionManager transactionManager() {
+		return new AbstractPlatformTransactionManager() {
+			@Override
+			protected Object doGetTransaction() {
+				return new Object();
+			}
+
+			@Override
+			protected void doBegin(Object transaction, TransactionDefinition definition) {
+			}
+
+			@Override
+			protected void doCommit(DefaultTransactionStatus status) {
+				staged.get().forEach(Runnable::run);
+				staged.get().clear();
+			}
+
+			@Override
+			protected void doRollback(DefaultTransactionStatus status) {
+				staged.get().clear();
+			}
+		};
+	}
+}
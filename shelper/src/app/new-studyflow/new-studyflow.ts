@@ -51,6 +51,7 @@ export class NewStudyflowComponent implements OnInit {
   selectedFiles: ResourceFile[] = [];
   isUploading = false;
   resourcesUploaded = false;
+  uploadJobId: string | null = null;
   isGeneratingQuestions = false;
 
   constructor(
@@ -166,15 +167,16 @@ export class NewStudyflowComponent implements OnInit {
     this.isUploading = true;
 
     try {
-      const resourceDtoList = await this.convertFilesToDtoList();
+      const formData = this.buildUploadForm();
 
-      this.http.post('http://localhost:8080/api/studyflow/resources', resourceDtoList, { observe: 'response' })
+      this.http.post<string>('http://localhost:8080/api/studyflow/resources', formData, { observe: 'response' })
         .subscribe({
           next: (response) => {
             this.isUploading = false;
 
             if (response.status === 201) {
               this.resourcesUploaded = true;
+              this.uploadJobId = response.body;
               this.snackBar.open('Arquivos enviados com sucesso!', 'Fechar', {
                 duration: 3000,
                 panelClass: ['success-snackbar']
@@ -200,62 +202,64 @@ export class NewStudyflowComponent implements OnInit {
     }
   }
 
-  private convertFilesToDtoList(): Promise<any[]> {
-    const promises = this.selectedFiles.map((resourceFile) => {
-      return new Promise((resolve, reject) => {
-        const reader = new FileReader();
-
-        reader.onload = () => {
-          const arrayBuffer = reader.result as ArrayBuffer;
-          const uint8Array = new Uint8Array(arrayBuffer);
-          const binary = Array.from(uint8Array);
-
-          resolve({
-            binary: binary,
-            filetype: resourceFile.filetype,
-            mime: resourceFile.mime,
-            filename: resourceFile.filename,
-            studyflowId: this.createdStudyflowId,
-            indicator: resourceFile.indicator
-          });
-        };
+  private buildUploadForm(): FormData {
+    const formData = new FormData();
+    formData.append('studyflowId', this.createdStudyflowId ?? '');
 
-        reader.onerror = () => reject(new Error(`Failed to read ${resourceFile.filename}`));
-        reader.readAsArrayBuffer(resourceFile.file);
-      });
-    });
+    for (const resourceFile of this.selectedFiles) {
+      formData.append('files', resourceFile.file, resourceFile.filename);
+      if (resourceFile.indicator) {
+        formData.append('indicatorFilename', resourceFile.filename);
+      }
+    }
 
-    return Promise.all(promises);
+    return formData;
   }
 
   onGenerateQuestions(): void {
     if (!this.createdStudyflowId) return;
 
     this.isGeneratingQuestions = true;
+    this.pollGenerationJob();
+  }
 
-    this.http.post<any>('http://localhost:8080/api/studyflow/generate',
-      `"${this.createdStudyflowId}"`,
-      { headers: { 'Content-Type': 'application/json' } })
-      .subscribe({
-        next: (response) => {
-          if (this.createdStudyflowId != null) {
-            localStorage.setItem('studyflowId', this.createdStudyflowId);
-          }
-          this.isGeneratingQuestions = false;
-          this.snackBar.open('Questões geradas com sucesso!', 'Close', {
-            duration: 3000,
-            panelClass: ['success-snackbar']
-          });
-          this.router.navigate(['/studyflow-questions']);
-        },
-        error: (error) => {
-          this.isGeneratingQuestions = false;
-          this.snackBar.open('Falha ao gerar questões', 'Close', {
-            duration: 5000,
-            panelClass: ['error-snackbar']
-          });
+  private pollGenerationJob(): void {
+    const url = this.uploadJobId
+      ? `http://localhost:8080/api/studyflow/jobs?jobId=${this.uploadJobId}`
+      : `http://localhost:8080/api/studyflow/jobs/latest?studyflowId=${this.createdStudyflowId}`;
+
+    this.http.get<any>(url).subscribe({
+      next: (job) => {
+        if (job.status === 'COMPLETED') {
+          this.onQuestionsGenerated();
+        } else if (job.status === 'FAILED') {
+          this.onGenerationFailed();
+        } else {
+          setTimeout(() => this.pollGenerationJob(), 2000);
         }
-      });
+      },
+      error: () => this.onGenerationFailed()
+    });
+  }
+
+  private onQuestionsGenerated(): void {
+    if (this.createdStudyflowId != null) {
+      localStorage.setItem('studyflowId', this.createdStudyflowId);
+    }
+    this.isGeneratingQuestions = false;
+    this.snackBar.open('Questões geradas com sucesso!', 'Close', {
+      duration: 3000,
+      panelClass: ['success-snackbar']
+    });
+    this.router.navigate(['/studyflow-questions']);
+  }
+
+  private onGenerationFailed(): void {
+    this.isGeneratingQuestions = false;
+    this.snackBar.open('Falha ao gerar questões', 'Close', {
+      duration: 5000,
+      panelClass: ['error-snackbar']
+    });
   }
 
   getErrorMessage(field: string): string {
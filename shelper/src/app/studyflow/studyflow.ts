@@ -15,10 +15,12 @@ import {MatSnackBar, MatSnackBarModule} from '@angular/material/snack-bar';
 import {firstValueFrom} from 'rxjs';
 
 interface Resource {
-  binary: string;
+  id: string;
   mime: string;
   filename: string;
-  studyflowId: string;
+  sizeBytes: number;
+  contentHash: string;
+  createdAt: string;
   indicator: boolean;
 }
 
@@ -108,6 +110,10 @@ export class StudyflowComponent implements OnInit {
     this.router.navigate(['/home']);
   }
 
+  onDownloadResource(resource: Resource): void {
+    window.open(`http://localhost:8080/api/studyflow/resources/${resource.id}`, '_blank');
+  }
+
   onAddResource(): void {
   }
 